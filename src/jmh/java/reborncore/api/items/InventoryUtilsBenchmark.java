@@ -0,0 +1,146 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package reborncore.api.items;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.ChestBlockEntity;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.SidedInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reborncore.common.util.ItemUtils;
+
+/**
+ * Compares {@link InventoryUtils#insertItem} against the copy per slot implementation it replaced, pushing a stack
+ * into a chest the way auto output does. {@code full} is a chest without room, the common case for a machine
+ * outputting into a backed up chest, and {@code partial} is a chest with some room left in its last stacks.
+ */
+@State(Scope.Thread)
+public class InventoryUtilsBenchmark {
+
+	private final ItemStack output = new ItemStack(Items.COBBLESTONE, 32);
+	private ChestBlockEntity full;
+	private ChestBlockEntity partial;
+
+	@Setup(Level.Trial)
+	public void bootstrap() {
+		Bootstrap.initialize();
+		full = new ChestBlockEntity();
+		partial = new ChestBlockEntity();
+		fill(full, 64);
+	}
+
+	@Setup(Level.Invocation)
+	public void resetPartial() {
+		fill(partial, 63);
+		partial.setInvStack(partial.getInvSize() - 1, ItemStack.EMPTY);
+	}
+
+	private static void fill(Inventory inventory, int count) {
+		for (int i = 0; i < inventory.getInvSize(); i++) {
+			inventory.setInvStack(i, new ItemStack(Items.COBBLESTONE, count));
+		}
+	}
+
+	@Benchmark
+	public ItemStack insertItemFull() {
+		return InventoryUtils.insertItem(output, full, Direction.UP);
+	}
+
+	@Benchmark
+	public ItemStack legacyInsertItemFull() {
+		return legacyInsertItem(output, full, Direction.UP);
+	}
+
+	@Benchmark
+	public int commitInsertFull() {
+		return InventoryUtils.commitInsert(output, output.getCount(), full, Direction.UP);
+	}
+
+	@Benchmark
+	public ItemStack insertItemPartial() {
+		return InventoryUtils.insertItem(output, partial, Direction.UP);
+	}
+
+	@Benchmark
+	public ItemStack legacyInsertItemPartial() {
+		return legacyInsertItem(output, partial, Direction.UP);
+	}
+
+	@Benchmark
+	public int commitInsertPartial() {
+		return InventoryUtils.commitInsert(output, output.getCount(), partial, Direction.UP);
+	}
+
+	// The implementation before simulateInsert/commitInsert, kept as the baseline
+	private static ItemStack legacyInsertItem(ItemStack input, BlockEntity blockEntity, Direction direction) {
+		ItemStack stack = input.copy();
+
+		if (blockEntity instanceof SidedInventory) {
+			SidedInventory sidedInventory = (SidedInventory) blockEntity;
+			for (int slot : sidedInventory.getInvAvailableSlots(direction)) {
+				if (sidedInventory.canInsertInvStack(slot, stack, direction)) {
+					stack = legacyInsertIntoInv(sidedInventory, slot, stack);
+					if (stack.isEmpty()) {
+						break;
+					}
+				}
+			}
+			return stack;
+		} else if (blockEntity instanceof Inventory) {
+			Inventory inventory = (Inventory) blockEntity;
+			for (int i = 0; i < inventory.getInvSize() & !stack.isEmpty(); i++) {
+				stack = legacyInsertIntoInv(inventory, i, stack);
+			}
+		}
+		return stack;
+	}
+
+	private static ItemStack legacyInsertIntoInv(Inventory inventory, int slot, ItemStack input) {
+		ItemStack targetStack = inventory.getInvStack(slot);
+		ItemStack stack = input.copy();
+
+		if (targetStack.isEmpty()) {
+			inventory.setInvStack(slot, stack);
+			return ItemStack.EMPTY;
+		} else if (ItemUtils.isItemEqual(stack, targetStack, true, false)) {
+			int freeStackSpace = targetStack.getMaxCount() - targetStack.getCount();
+			if (freeStackSpace > 0) {
+				int transferAmount = Math.min(freeStackSpace, stack.getCount());
+				targetStack.increment(transferAmount);
+				stack.decrement(transferAmount);
+			}
+		}
+
+		return stack;
+	}
+}
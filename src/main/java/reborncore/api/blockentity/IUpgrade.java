@@ -46,4 +46,12 @@ public interface IUpgrade {
 	public default boolean isValidForInventory(IUpgradeable upgradeable, ItemStack stack){
 		return true;
 	}
+
+	/**
+	 * Machines only process their upgrades again when the upgrade inventory changes. Return true if the effect
+	 * of this upgrade can change while it stays in the machine, it is then processed every tick.
+	 */
+	public default boolean isEffectDynamic(ItemStack stack){
+		return false;
+	}
 }
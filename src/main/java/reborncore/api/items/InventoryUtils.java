@@ -31,6 +31,8 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.Direction;
 import reborncore.common.util.ItemUtils;
 
+import javax.annotation.Nullable;
+
 public class InventoryUtils {
 
 	public static ItemStack insertItemStacked(Inventory inventory, ItemStack input, boolean simulate) {
@@ -47,11 +49,14 @@ public class InventoryUtils {
 			} else if (ItemUtils.isItemEqual(stack, targetStack, true, false)){
 				int freeStackSpace = targetStack.getMaxCount() - targetStack.getCount();
 				if(freeStackSpace > 0){
-					int transferAmount = Math.min(freeStackSpace, input.getCount());
+					int transferAmount = Math.min(freeStackSpace, stack.getCount());
 					if(!simulate){
 						targetStack.increment(transferAmount);
 					}
 					stack.decrement(transferAmount);
+					if (stack.isEmpty()) {
+						return ItemStack.EMPTY;
+					}
 				}
 			}
 		}
@@ -60,45 +65,88 @@ public class InventoryUtils {
 
 	public static ItemStack insertItem(ItemStack input, BlockEntity blockEntity, Direction direction){
 		ItemStack stack = input.copy();
+		stack.decrement(commitInsert(input, input.getCount(), blockEntity, direction));
+		return stack;
+	}
 
-		if(blockEntity instanceof SidedInventory){
-			SidedInventory sidedInventory = (SidedInventory) blockEntity;
-			for(int slot : sidedInventory.getInvAvailableSlots(direction)){
-				if(sidedInventory.canInsertInvStack(slot, stack, direction)){
-					stack = insertIntoInv(sidedInventory, slot, stack);
-					if(stack.isEmpty()){
-						break;
-					}
+	/**
+	 * Works out how many items of the stack the block entity would accept, without changing anything
+	 *
+	 * @param input stack to insert, it is not modified
+	 * @param amount how many of the stack to try to insert
+	 * @param blockEntity target, anything that is not an inventory accepts nothing
+	 * @param direction side of the target that is inserted into
+	 * @return the amount that would be inserted
+	 */
+	public static int simulateInsert(ItemStack input, int amount, @Nullable BlockEntity blockEntity, Direction direction){
+		return insert(input, amount, blockEntity, direction, true);
+	}
+
+	/**
+	 * Inserts up to the amount of the stack into the block entity. Partial stacks are filled first, then empty slots.
+	 * The input stack is not modified, remove the returned amount from it.
+	 *
+	 * @return the amount that was inserted
+	 */
+	public static int commitInsert(ItemStack input, int amount, @Nullable BlockEntity blockEntity, Direction direction){
+		return insert(input, amount, blockEntity, direction, false);
+	}
+
+	private static int insert(ItemStack input, int amount, @Nullable BlockEntity blockEntity, Direction direction, boolean simulate){
+		amount = Math.min(amount, input.getCount());
+		if(input.isEmpty() || amount <= 0 || !(blockEntity instanceof Inventory)){
+			return 0;
+		}
+		Inventory inventory = (Inventory) blockEntity;
+		SidedInventory sidedInventory = blockEntity instanceof SidedInventory ? (SidedInventory) blockEntity : null;
+		int[] slots = sidedInventory != null ? sidedInventory.getInvAvailableSlots(direction) : null;
+		int slotCount = slots != null ? slots.length : inventory.getInvSize();
+		int remaining = amount;
+
+		//Merge into the matching stacks first so an empty slot is only used for what is left
+		for (int i = 0; i < slotCount && remaining > 0; i++) {
+			int slot = slots != null ? slots[i] : i;
+			ItemStack targetStack = inventory.getInvStack(slot);
+			if(targetStack.isEmpty() || !ItemUtils.isItemEqual(input, targetStack, true, false) || !canInsert(inventory, sidedInventory, slot, input, direction)){
+				continue;
+			}
+			int transferAmount = Math.min(getSlotLimit(inventory, targetStack) - targetStack.getCount(), remaining);
+			if(transferAmount > 0){
+				if(!simulate){
+					targetStack.increment(transferAmount);
 				}
+				remaining -= transferAmount;
+			}
+		}
+		for (int i = 0; i < slotCount && remaining > 0; i++) {
+			int slot = slots != null ? slots[i] : i;
+			if(!inventory.getInvStack(slot).isEmpty() || !canInsert(inventory, sidedInventory, slot, input, direction)){
+				continue;
 			}
-			return stack;
-		} else if(blockEntity instanceof Inventory){
-			Inventory inventory = (Inventory) blockEntity;
-			for (int i = 0; i < inventory.getInvSize() & !stack.isEmpty(); i++) {
-				stack = insertIntoInv(inventory, i, stack);
+			int transferAmount = Math.min(getSlotLimit(inventory, input), remaining);
+			if(!simulate){
+				ItemStack stack = input.copy();
+				stack.setCount(transferAmount);
+				inventory.setInvStack(slot, stack);
 			}
+			remaining -= transferAmount;
 		}
-		return stack;
-	}
-
 
-	private static ItemStack insertIntoInv(Inventory inventory, int slot, ItemStack input){
-		ItemStack targetStack = inventory.getInvStack(slot);
-		ItemStack stack = input.copy();
+		int inserted = amount - remaining;
+		if(!simulate && inserted > 0){
+			inventory.markDirty();
+		}
+		return inserted;
+	}
 
-		//Nice and simple, insert the item into a blank slot
-		if(targetStack.isEmpty()){
-			inventory.setInvStack(slot, stack);
-			return ItemStack.EMPTY;
-		} else if (ItemUtils.isItemEqual(stack, targetStack, true, false)){
-			int freeStackSpace = targetStack.getMaxCount() - targetStack.getCount();
-			if(freeStackSpace > 0){
-				int transferAmount = Math.min(freeStackSpace, stack.getCount());
-				targetStack.increment(transferAmount);
-				stack.decrement(transferAmount);
-			}
+	private static boolean canInsert(Inventory inventory, @Nullable SidedInventory sidedInventory, int slot, ItemStack stack, Direction direction){
+		if(sidedInventory != null){
+			return sidedInventory.canInsertInvStack(slot, stack, direction);
 		}
+		return inventory.isValidInvStack(slot, stack);
+	}
 
-		return stack;
+	private static int getSlotLimit(Inventory inventory, ItemStack stack){
+		return Math.min(stack.getMaxCount(), inventory.getInvMaxStackAmount());
 	}
 }
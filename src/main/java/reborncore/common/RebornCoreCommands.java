@@ -29,16 +29,25 @@ import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.context.CommandContext;
 import net.fabricmc.fabric.api.registry.CommandRegistry;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.command.arguments.EntityArgumentType;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerChunkManager;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.LiteralText;
+import net.minecraft.world.dimension.DimensionType;
 import net.minecraft.world.chunk.ChunkStatus;
+import reborncore.RebornCore;
+import reborncore.common.blockentity.MachineProfiler;
+import reborncore.common.blockentity.MachineTickScheduler;
 import reborncore.common.crafting.RecipeManager;
+import reborncore.common.crafting.RecipeValidator;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -66,10 +75,30 @@ public class RebornCoreCommands {
 						literal("recipes")
 							.then(literal("validate")
 									.requires(source -> source.hasPermissionLevel(3))
-									.executes(ctx -> {
-										RecipeManager.validateRecipes(ctx.getSource().getWorld());
-										return Command.SINGLE_SUCCESS;
-									})
+									.executes(RebornCoreCommands::validateRecipes)
+							)
+					)
+
+					.then(
+						literal("scheduler")
+							.requires(source -> source.hasPermissionLevel(3))
+							.executes(RebornCoreCommands::schedulerStats)
+							.then(literal("reset")
+									.executes(RebornCoreCommands::resetSchedulerStats)
+							)
+					)
+
+					.then(
+						literal("profile")
+							.requires(source -> source.hasPermissionLevel(3))
+							.then(literal("start")
+									.executes(RebornCoreCommands::startProfile)
+							)
+							.then(literal("stop")
+									.executes(RebornCoreCommands::stopProfile)
+							)
+							.then(literal("dump")
+									.executes(RebornCoreCommands::dumpProfile)
 							)
 					)
 
@@ -94,6 +123,43 @@ public class RebornCoreCommands {
 		);
 	}
 
+	private static int schedulerStats(CommandContext<ServerCommandSource> ctx) {
+		for (ServerWorld world : ctx.getSource().getMinecraftServer().getWorlds()) {
+			MachineTickScheduler.Stats stats = MachineTickScheduler.getStats(world);
+			long total = stats.getTicked() + stats.getSkipped();
+			ctx.getSource().sendFeedback(new LiteralText(String.format("%s: %d machine ticks run, %d skipped (%d%%)",
+					DimensionType.getId(world.getDimension().getType()), stats.getTicked(), stats.getSkipped(), total == 0 ? 0 : stats.getSkipped() * 100 / total)), false);
+		}
+		return Command.SINGLE_SUCCESS;
+	}
+
+	private static int resetSchedulerStats(CommandContext<ServerCommandSource> ctx) {
+		for (ServerWorld world : ctx.getSource().getMinecraftServer().getWorlds()) {
+			MachineTickScheduler.getStats(world).reset();
+		}
+		ctx.getSource().sendFeedback(new LiteralText("Reset the machine scheduler stats"), true);
+		return Command.SINGLE_SUCCESS;
+	}
+
+	private static int startProfile(CommandContext<ServerCommandSource> ctx) {
+		MachineProfiler.start();
+		ctx.getSource().sendFeedback(new LiteralText("Started profiling machines"), true);
+		return Command.SINGLE_SUCCESS;
+	}
+
+	private static int stopProfile(CommandContext<ServerCommandSource> ctx) {
+		MachineProfiler.stop();
+		ctx.getSource().sendFeedback(new LiteralText("Stopped profiling machines"), true);
+		return Command.SINGLE_SUCCESS;
+	}
+
+	private static int dumpProfile(CommandContext<ServerCommandSource> ctx) {
+		for (String line : MachineProfiler.dump(10)) {
+			ctx.getSource().sendFeedback(new LiteralText(line), false);
+		}
+		return Command.SINGLE_SUCCESS;
+	}
+
 	private static int generate(CommandContext<ServerCommandSource> ctx) {
 		final int size = getInteger(ctx, "size");
 
@@ -116,6 +182,35 @@ public class RebornCoreCommands {
 		return Command.SINGLE_SUCCESS;
 	}
 
+	private static int validateRecipes(CommandContext<ServerCommandSource> ctx) {
+		final ServerCommandSource source = ctx.getSource();
+		final MinecraftServer server = source.getMinecraftServer();
+		final File reportFile = new File(FabricLoader.getInstance().getGameDirectory(), "logs/reborncore-recipes.txt");
+
+		//Snapshots are taken on the server thread, the validation itself runs off thread against them
+		RecipeValidator validator = new RecipeValidator(RecipeManager.getRecipeSnapshots(source.getWorld()),
+				message -> server.execute(() -> source.sendFeedback(new LiteralText(message), false)));
+		source.sendFeedback(new LiteralText("Validating recipes"), false);
+
+		CompletableFuture.supplyAsync(() -> {
+			RecipeValidator.Report report = validator.run();
+			try {
+				report.write(reportFile);
+			} catch (IOException e) {
+				RebornCore.LOGGER.error("Failed to write recipe report", e);
+			}
+			return report;
+		}, EXECUTOR_SERVICE).whenComplete((report, throwable) -> server.execute(() -> {
+			if (throwable != null) {
+				RebornCore.LOGGER.error("Failed to validate recipes", throwable);
+				source.sendError(new LiteralText("Failed to validate recipes, see the log for details"));
+				return;
+			}
+			source.sendFeedback(new LiteralText(String.format("Validated %d recipes, found %d problems. Report written to %s", report.getRecipeCount(), report.getProblems().size(), reportFile.getPath())), true);
+		}));
+		return Command.SINGLE_SUCCESS;
+	}
+
 	private static int flySpeed(CommandContext<ServerCommandSource> ctx, Collection<ServerPlayerEntity> players) {
 		final int speed = getInteger(ctx, "speed");
 		players.stream()
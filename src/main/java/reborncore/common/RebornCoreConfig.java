@@ -44,4 +44,28 @@ public class RebornCoreConfig {
 	@Config(config = "power", key = "Energy smoking", comment = "When enabled machines that try to insert power into a machine with a lower teir will smoke")
 	public static boolean smokeHighTeir = false;
 
+	@Config(config = "misc", key = "Idle Crafter Recheck", comment = "Ticks between the checks an idle machine does for changes it is not notified about, such as fluids or multiblock state")
+	public static int idleCrafterRecheck = 20;
+
+	@Config(config = "misc", key = "Max Crafting Batch", comment = "The most operations of a recipe a heavily upgraded machine completes in a single tick")
+	public static int maxCraftingBatch = 64;
+
+	@Config(config = "misc", key = "Auto IO Period", comment = "Ticks between the automatic slot and fluid transfers of machines, each machine transfers on its own tick within this period")
+	public static int autoIOPeriod = 4;
+
+	@Config(config = "misc", key = "Auto IO Bulk Transfer", comment = "When enabled machine auto input fills a slot from as many source slots as needed, up to the machine's transfer amount")
+	public static boolean autoIOBulkTransfer = false;
+
+	@Config(config = "misc", key = "Auto IO Items Per Operation", comment = "Items a machine pulls into a slot per auto input when bulk transfer is enabled, up to a full stack")
+	public static int autoIOItemsPerOperation = 16;
+
+	@Config(config = "misc", key = "Machine Tick Scheduler", comment = "When enabled machines that support it skip their ticks while idle")
+	public static boolean machineTickScheduler = true;
+
+	@Config(config = "misc", key = "Idle Machine Recheck", comment = "Ticks between the ticks an idle machine still runs, to catch changes it is not notified about")
+	public static int idleMachineRecheck = 20;
+
+	@Config(config = "misc", key = "Min Active State Ticks", comment = "The least ticks a machine holds its active state before it may flip again, stops machines that are short on power from flickering")
+	public static int minActiveStateTicks = 20;
+
 }
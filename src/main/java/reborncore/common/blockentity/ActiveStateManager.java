@@ -0,0 +1,91 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.blockentity;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.world.World;
+import reborncore.common.RebornCoreConfig;
+import reborncore.common.blocks.BlockMachineBase;
+
+/**
+ * Owns the ACTIVE block state of a machine. The block state is only written when the value really flips, and a
+ * flip waits until the current value has been held for {@link RebornCoreConfig#minActiveStateTicks}, so a machine
+ * that is short on power does not flicker its block state.
+ */
+public class ActiveStateManager {
+
+	private final MachineBaseBlockEntity machine;
+	private boolean requested;
+	private boolean pending;
+	private boolean written;
+	private long lastWrite;
+
+	public ActiveStateManager(MachineBaseBlockEntity machine) {
+		this.machine = machine;
+	}
+
+	public void setActive(boolean active) {
+		requested = active;
+		pending = true;
+		apply();
+	}
+
+	/**
+	 * Applies a flip that was held back by the minimum duration, called every machine tick
+	 */
+	public void tick() {
+		if (pending) {
+			apply();
+		}
+	}
+
+	/**
+	 * @return true while a requested flip has not been written yet
+	 */
+	public boolean isPending() {
+		return pending;
+	}
+
+	private void apply() {
+		World world = machine.getWorld();
+		if (world == null) {
+			return;
+		}
+		BlockState state = world.getBlockState(machine.getPos());
+		if (!(state.getBlock() instanceof BlockMachineBase) || !state.contains(BlockMachineBase.ACTIVE) || state.get(BlockMachineBase.ACTIVE) == requested) {
+			pending = false;
+			return;
+		}
+		long time = world.getTime();
+		if (written && time - lastWrite < RebornCoreConfig.minActiveStateTicks) {
+			return;
+		}
+		((BlockMachineBase) state.getBlock()).setActive(requested, world, machine.getPos());
+		lastWrite = time;
+		written = true;
+		pending = false;
+	}
+}
@@ -69,7 +69,7 @@ public class FluidConfiguration implements NBTSerializable {
 		if (!input && !output) {
 			return;
 		}
-		if (machineBase.getTank() == null || machineBase.getWorld().getTime() % machineBase.slotTransferSpeed() != 0) {
+		if (machineBase.getMachineTank() == null || !machineBase.isTransferTick()) {
 			return;
 		}
 		for (Direction facing : Direction.values()) {
@@ -100,6 +100,21 @@ public class FluidConfiguration implements NBTSerializable {
 //		return blockEntity.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, facing.getOpposite()).orElse(null);
 //	}
 
+	/**
+	 * @return true when auto input or output is on and a side is configured for it
+	 */
+	public boolean hasAutoIO() {
+		if (!input && !output) {
+			return false;
+		}
+		for (FluidConfig config : sideMap.values()) {
+			if (config.getIoConfig().isEnabled()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public boolean autoInput() {
 		return input;
 	}
@@ -49,6 +49,7 @@ import reborncore.api.blockentity.IUpgrade;
 import reborncore.api.blockentity.IUpgradeable;
 import reborncore.api.blockentity.InventoryProvider;
 import reborncore.api.recipe.IRecipeCrafterProvider;
+import reborncore.common.RebornCoreConfig;
 import reborncore.client.multiblock.Multiblock;
 import reborncore.common.blocks.BlockMachineBase;
 import reborncore.common.network.ClientBoundPackets;
@@ -61,7 +62,6 @@ import reborncore.common.util.Tank;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -91,6 +91,29 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 	 */
 	double powerMultiplier = 1;
 
+	private boolean upgradesChanged = true;
+
+	// Tick scheduler state, see MachineTickScheduler
+	boolean idle;
+	boolean wakeRequested;
+	int idleTicks;
+	@Nullable
+	MachineProfiler.Sample profilerSample;
+
+	private final ActiveStateManager activeState = new ActiveStateManager(this);
+	private final NeighborCache neighborCache = new NeighborCache(this);
+
+	private boolean componentsResolved;
+	@Nullable
+	private RebornInventory<?> machineInventory;
+	@Nullable
+	private RecipeCrafter machineCrafter;
+	@Nullable
+	private Tank machineTank;
+	private Optional<RebornInventory<?>> optionalInventory = Optional.empty();
+	private Optional<RecipeCrafter> optionalCrafter = Optional.empty();
+	private boolean hasDynamicUpgrades;
+
 	public MachineBaseBlockEntity(BlockEntityType<?> blockEntityTypeIn) {
 		super(blockEntityTypeIn);
 	}
@@ -102,9 +125,11 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 	}
 
 	public void onLoad() {
+		invalidateComponents();
+		neighborCache.invalidate();
 		if (slotConfiguration == null) {
-			if (getOptionalInventory().isPresent()) {
-				slotConfiguration = new SlotConfiguration(getOptionalInventory().get());
+			if (getMachineInventory() != null) {
+				slotConfiguration = new SlotConfiguration(getMachineInventory());
 			}
 		}
 		if (getTank() != null) {
@@ -134,28 +159,30 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 		}
 		ticktime ++;
 		@Nullable
-		RecipeCrafter crafter = null;
-		if (getOptionalCrafter().isPresent()) {
-			crafter = getOptionalCrafter().get();
-		}
-		if (canBeUpgraded()) {
-			resetUpgrades();
-			for (int i = 0; i < getUpgradeSlotCount(); i++) {
-				ItemStack stack = getUpgradeInvetory().getInvStack(i);
-				if (!stack.isEmpty() && stack.getItem() instanceof IUpgrade) {
-					((IUpgrade) stack.getItem()).process(this, this, stack);
-				}
-			}
+		RecipeCrafter crafter = getMachineCrafter();
+		@Nullable
+		MachineProfiler.Sample sample = MachineProfiler.begin(this);
+		if (canBeUpgraded() && (upgradesChanged || hasDynamicUpgrades || upgradeInventory.hasChanged())) {
+			long start = MachineProfiler.startPhase(sample);
+			applyUpgrades();
+			MachineProfiler.endPhase(sample, MachineProfiler.Phase.UPGRADES, start);
 		}
 		if (!world.isClient) {
+			activeState.tick();
 			if (crafter != null) {
+				long start = MachineProfiler.startPhase(sample);
 				crafter.updateEntity();
+				MachineProfiler.endPhase(sample, MachineProfiler.Phase.CRAFTER, start);
 			}
 			if (slotConfiguration != null) {
+				long start = MachineProfiler.startPhase(sample);
 				slotConfiguration.update(this);
+				MachineProfiler.endPhase(sample, MachineProfiler.Phase.SLOT_IO, start);
 			}
 			if (fluidConfiguration != null) {
+				long start = MachineProfiler.startPhase(sample);
 				fluidConfiguration.update(this);
+				MachineProfiler.endPhase(sample, MachineProfiler.Phase.FLUID_IO, start);
 			}
 		}
 
@@ -166,6 +193,86 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 		resetSpeedMulti();
 	}
 
+	/**
+	 * Rebuilds the effects of the installed upgrades. This only happens when the upgrade inventory has changed,
+	 * or every tick while an upgrade reports its effect as dynamic.
+	 */
+	protected void applyUpgrades() {
+		upgradesChanged = false;
+		upgradeInventory.resetChanged();
+		Inventory upgrades = getUpgradeInvetory();
+		// Changes to an inventory other than our own upgrade inventory can not be seen
+		hasDynamicUpgrades = upgrades != upgradeInventory;
+		resetUpgrades();
+		for (int i = 0; i < getUpgradeSlotCount(); i++) {
+			ItemStack stack = upgrades.getInvStack(i);
+			if (!stack.isEmpty() && stack.getItem() instanceof IUpgrade) {
+				IUpgrade upgrade = (IUpgrade) stack.getItem();
+				upgrade.process(this, this, stack);
+				if (upgrade.isEffectDynamic(stack)) {
+					hasDynamicUpgrades = true;
+				}
+			}
+		}
+	}
+
+	public ActiveStateManager getActiveState() {
+		return activeState;
+	}
+
+	public NeighborCache getNeighborCache() {
+		return neighborCache;
+	}
+
+	/**
+	 * Return true to have this machine ticked by the {@link MachineTickScheduler}, which skips its ticks while it is
+	 * idle. Only opt in when everything the machine does in its tick is either reported through {@link #wakeUp()}
+	 * or covered by {@link #canIdle()}.
+	 */
+	public boolean useTickScheduler() {
+		return false;
+	}
+
+	/**
+	 * Whether the machine may be skipped after a tick in which nothing woke it up. Auto IO is never idle, as the
+	 * contents of neighbor inventories can change without a neighbor update.
+	 */
+	public boolean canIdle() {
+		if (hasDynamicUpgrades || activeState.isPending()) {
+			return false;
+		}
+		if (slotConfiguration != null && slotConfiguration.hasAutoIO()) {
+			return false;
+		}
+		if (fluidConfiguration != null && fluidConfiguration.hasAutoIO()) {
+			return false;
+		}
+		RecipeCrafter crafter = getMachineCrafter();
+		return crafter == null || crafter.isSleeping() && !crafter.isPolling();
+	}
+
+	/**
+	 * Lets a machine that is idle in the {@link MachineTickScheduler} tick again
+	 */
+	public void wakeUp() {
+		wakeRequested = true;
+		idle = false;
+		idleTicks = 0;
+	}
+
+	@Override
+	public void markDirty() {
+		super.markDirty();
+		wakeUp();
+	}
+
+	/**
+	 * Processes the upgrades again on the next tick, for when something their effect depends on has changed
+	 */
+	public void invalidateUpgrades() {
+		upgradesChanged = true;
+	}
+
 	public int getFacingInt() {
 		Block block = world.getBlockState(pos).getBlock();
 		if (block instanceof BlockMachineBase) {
@@ -198,41 +305,89 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 	}
 
 	public Optional<RebornInventory<?>> getOptionalInventory() {
-		if (this instanceof InventoryProvider) {
-			InventoryProvider inventory = (InventoryProvider) this;
-			if (inventory.getInventory() == null) {
-				return Optional.empty();
-			}
-			return Optional.of((RebornInventory<?>) inventory.getInventory());
-		}
-		return Optional.empty();
+		resolveComponents();
+		return optionalInventory;
 	}
 
 	protected Optional<RecipeCrafter> getOptionalCrafter() {
+		resolveComponents();
+		return optionalCrafter;
+	}
+
+	/**
+	 * @return the inventory of this machine, or null if it does not have one
+	 */
+	@Nullable
+	public RebornInventory<?> getMachineInventory() {
+		resolveComponents();
+		return machineInventory;
+	}
+
+	/**
+	 * @return the recipe crafter of this machine, or null if it does not have one
+	 */
+	@Nullable
+	public RecipeCrafter getMachineCrafter() {
+		resolveComponents();
+		return machineCrafter;
+	}
+
+	/**
+	 * Binds the inventory, crafter and tank of this machine so the hot inventory methods do not look them up on
+	 * every call. A provider that returns null is asked again on the next access, as it may not be built yet.
+	 */
+	private void resolveComponents() {
+		if (componentsResolved) {
+			return;
+		}
+		boolean resolved = true;
+		machineInventory = null;
+		if (this instanceof InventoryProvider) {
+			machineInventory = (RebornInventory<?>) ((InventoryProvider) this).getInventory();
+			resolved = machineInventory != null;
+		}
+		machineCrafter = null;
 		if (this instanceof IRecipeCrafterProvider) {
-			IRecipeCrafterProvider crafterProvider = (IRecipeCrafterProvider) this;
-			if (crafterProvider.getRecipeCrafter() == null) {
-				return Optional.empty();
-			}
-			return Optional.of(crafterProvider.getRecipeCrafter());
+			machineCrafter = ((IRecipeCrafterProvider) this).getRecipeCrafter();
+			resolved &= machineCrafter != null;
 		}
-		return Optional.empty();
+		machineTank = getTank();
+		optionalInventory = Optional.ofNullable(machineInventory);
+		optionalCrafter = Optional.ofNullable(machineCrafter);
+		componentsResolved = resolved;
+	}
+
+	/**
+	 * @return the tank of this machine, or null if it does not have one
+	 */
+	@Nullable
+	public Tank getMachineTank() {
+		resolveComponents();
+		return machineTank;
+	}
+
+	/**
+	 * Makes the machine look up its inventory, crafter and tank again on the next access
+	 */
+	protected void invalidateComponents() {
+		componentsResolved = false;
 	}
 
 	@Override
 	public void fromTag(CompoundTag tagCompound) {
 		super.fromTag(tagCompound);
-		if (getOptionalInventory().isPresent()) {
-			getOptionalInventory().get().read(tagCompound);
+		invalidateComponents();
+		if (getMachineInventory() != null) {
+			getMachineInventory().read(tagCompound);
 		}
-		if (getOptionalCrafter().isPresent()) {
-			getOptionalCrafter().get().read(tagCompound);
+		if (getMachineCrafter() != null) {
+			getMachineCrafter().read(tagCompound);
 		}
 		if (tagCompound.contains("slotConfig")) {
 			slotConfiguration = new SlotConfiguration(tagCompound.getCompound("slotConfig"));
 		} else {
-			if (getOptionalInventory().isPresent()) {
-				slotConfiguration = new SlotConfiguration(getOptionalInventory().get());
+			if (getMachineInventory() != null) {
+				slotConfiguration = new SlotConfiguration(getMachineInventory());
 			}
 		}
 		if (tagCompound.contains("fluidConfig") && getTank() != null) {
@@ -246,11 +401,11 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 	@Override
 	public CompoundTag toTag(CompoundTag tagCompound) {
 		super.toTag(tagCompound);
-		if (getOptionalInventory().isPresent()) {
-			getOptionalInventory().get().write(tagCompound);
+		if (getMachineInventory() != null) {
+			getMachineInventory().write(tagCompound);
 		}
-		if (getOptionalCrafter().isPresent()) {
-			getOptionalCrafter().get().write(tagCompound);
+		if (getMachineCrafter() != null) {
+			getMachineCrafter().write(tagCompound);
 		}
 		if (slotConfiguration != null) {
 			tagCompound.put("slotConfig", slotConfiguration.write());
@@ -266,9 +421,8 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 		if (slotConfiguration == null) {
 			return false;
 		}
-		SlotConfiguration.SlotConfigHolder slotConfigHolder = slotConfiguration.getSlotDetails(index);
-		if (slotConfigHolder.filter() && getOptionalCrafter().isPresent()) {
-			RecipeCrafter crafter = getOptionalCrafter().get();
+		RecipeCrafter crafter = getMachineCrafter();
+		if (slotConfiguration.isFilterEnabled(index) && crafter != null) {
 			if (!crafter.isStackValidInput(stack)) {
 				return false;
 			}
@@ -350,7 +504,30 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 
 	//The amount of ticks between a slot tranfer atempt, less is faster
 	public int slotTransferSpeed() {
-		return 4;
+		return RebornCoreConfig.autoIOPeriod;
+	}
+
+	/**
+	 * The most items auto input moves into a slot per transfer when bulk transfer is enabled. Override to give a
+	 * machine its own throughput tier, values above a stack are limited by the slot.
+	 */
+	public int slotTransferAmount() {
+		return RebornCoreConfig.autoIOItemsPerOperation;
+	}
+
+	/**
+	 * Whether the slot and fluid IO runs this tick. Each machine transfers on its own phase of the
+	 * {@link #slotTransferSpeed()} period, taken from its position, so the transfers of all machines do not land
+	 * on the same tick.
+	 */
+	public boolean isTransferTick() {
+		int period = slotTransferSpeed();
+		if (period <= 1) {
+			return true;
+		}
+		int hash = pos.hashCode() * 0x9E3779B9;
+		int phase = Math.floorMod(hash ^ (hash >>> 16), period);
+		return (world.getTime() + phase) % period == 0;
 	}
 
 	//The amount of fluid transfured each tick buy the fluid config
@@ -361,8 +538,8 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 	@Override
 	public void addInfo(List<Text> info, boolean isReal, boolean hasData) {
 		if (hasData) {
-			if (getOptionalInventory().isPresent()) {
-				info.add(new LiteralText(Formatting.GOLD + "" + getOptionalInventory().get().getContents() + Formatting.GRAY + " items"));
+			if (getMachineInventory() != null) {
+				info.add(new LiteralText(Formatting.GOLD + "" + getMachineInventory().getContents() + Formatting.GRAY + " items"));
 			}
 			if (!upgradeInventory.isInvEmpty()) {
 				info.add(new LiteralText(Formatting .GOLD + "" + upgradeInventory.getContents() + Formatting .GRAY + " upgrades"));
@@ -376,55 +553,62 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 
 	@Override
 	public int getInvSize() {
-		if(getOptionalInventory().isPresent()){
-			return getOptionalInventory().get().getInvSize();
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			return inventory.getInvSize();
 		}
 		return 0;
 	}
 
 	@Override
 	public boolean isInvEmpty() {
-		if(getOptionalInventory().isPresent()){
-			return getOptionalInventory().get().isInvEmpty();
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			return inventory.isInvEmpty();
 		}
 		return true;
 	}
 
 	@Override
 	public ItemStack getInvStack(int i) {
-		if(getOptionalInventory().isPresent()){
-			return getOptionalInventory().get().getInvStack(i);
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			return inventory.getInvStack(i);
 		}
 		return ItemStack.EMPTY;
 	}
 
 	@Override
 	public ItemStack takeInvStack(int i, int i1) {
-		if(getOptionalInventory().isPresent()){
-			return getOptionalInventory().get().takeInvStack(i, i1);
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			return inventory.takeInvStack(i, i1);
 		}
 		return ItemStack.EMPTY;
 	}
 
 	@Override
 	public ItemStack removeInvStack(int i) {
-		if(getOptionalInventory().isPresent()){
-			return getOptionalInventory().get().removeInvStack(i);
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			return inventory.removeInvStack(i);
 		}
 		return ItemStack.EMPTY;
 	}
 
 	@Override
 	public void setInvStack(int i, ItemStack itemStack) {
-		if(getOptionalInventory().isPresent()){
-			getOptionalInventory().get().setInvStack(i, itemStack);
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			inventory.setInvStack(i, itemStack);
 		}
 	}
 
 	@Override
 	public boolean canPlayerUseInv(PlayerEntity playerEntity) {
-		if(getOptionalInventory().isPresent()){
-			return getOptionalInventory().get().canPlayerUseInv(playerEntity);
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			return inventory.canPlayerUseInv(playerEntity);
 		}
 		return false;
 	}
@@ -436,8 +620,9 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 
 	@Override
 	public void clear() {
-		if(getOptionalInventory().isPresent()){
-			getOptionalInventory().get().clear();
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory != null) {
+			inventory.clear();
 		}
 	}
 
@@ -452,10 +637,7 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 		if(slotConfiguration == null){
 			return new int[]{}; //I think should be ok, if needed this can return all the slots
 		}
-		return slotConfiguration.getSlotsForSide(side).stream()
-			.filter(Objects::nonNull)
-			.filter(slotConfig -> slotConfig.getSlotIO().ioConfig != SlotConfiguration.ExtractConfig.NONE)
-			.mapToInt(SlotConfiguration.SlotConfig::getSlotID).toArray();
+		return slotConfiguration.getAvailableSlots(side);
 	}
 
 	@Override
@@ -463,23 +645,19 @@ public class MachineBaseBlockEntity extends BlockEntity implements Tickable, IUp
 		if(direction == null){
 			return false;
 		}
-		SlotConfiguration.SlotConfigHolder slotConfigHolder = slotConfiguration.getSlotDetails(index);
-		SlotConfiguration.SlotConfig slotConfig = slotConfigHolder.getSideDetail(direction);
-		if (slotConfig.getSlotIO().ioConfig.isInsert()) {
-			if (slotConfigHolder.filter() && getOptionalCrafter().isPresent()) {
-				RecipeCrafter crafter = getOptionalCrafter().get();
+		if (slotConfiguration.getSideConfig(index, direction).isInsert()) {
+			RecipeCrafter crafter = getMachineCrafter();
+			if (slotConfiguration.isFilterEnabled(index) && crafter != null) {
 				return crafter.isStackValidInput(stack);
 			}
-			return slotConfig.getSlotIO().getIoConfig().isInsert();
+			return true;
 		}
 		return false;
 	}
 
 	@Override
 	public boolean canExtractInvStack(int index, ItemStack stack, Direction direction) {
-		SlotConfiguration.SlotConfigHolder slotConfigHolder = slotConfiguration.getSlotDetails(index);
-		SlotConfiguration.SlotConfig slotConfig = slotConfigHolder.getSideDetail(direction);
-		return slotConfig.getSlotIO().ioConfig.isExtact();
+		return slotConfiguration.getSideConfig(index, direction).isExtact();
 	}
 
 	public void onBreak(World world, PlayerEntity playerEntity, BlockPos blockPos, BlockState blockState){
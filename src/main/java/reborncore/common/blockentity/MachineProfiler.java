@@ -0,0 +1,210 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.blockentity;
+
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.World;
+import net.minecraft.world.dimension.DimensionType;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times the phases of machine ticks while a profiling session is running. When no session is running
+ * {@link #begin(MachineBaseBlockEntity)} returns null and the other calls return straight away.
+ * <p>
+ * Only used from the server thread.
+ */
+public class MachineProfiler {
+
+	public enum Phase {
+		UPGRADES("upgrades"),
+		CRAFTER("crafter"),
+		SLOT_IO("slot io"),
+		FLUID_IO("fluid io"),
+		ENERGY_PUSH("energy push");
+
+		private final String name;
+
+		Phase(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	private static boolean running;
+	private static int session;
+	private static long startTime;
+	private static long endTime;
+	private static final Map<World, Map<BlockPos, Sample>> SAMPLES = new IdentityHashMap<>();
+
+	public static boolean isRunning() {
+		return running;
+	}
+
+	public static void start() {
+		SAMPLES.clear();
+		session++;
+		running = true;
+		startTime = System.nanoTime();
+	}
+
+	public static void stop() {
+		if (running) {
+			running = false;
+			endTime = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Starts a tick of the machine
+	 *
+	 * @return the sample to record the tick's phases in, or null when no session is running
+	 */
+	@Nullable
+	public static Sample begin(MachineBaseBlockEntity machine) {
+		if (!running || machine.getWorld() == null || machine.getWorld().isClient) {
+			return null;
+		}
+		Sample sample = machine.profilerSample;
+		if (sample == null || sample.session != session) {
+			sample = SAMPLES.computeIfAbsent(machine.getWorld(), world -> new HashMap<>())
+				.computeIfAbsent(machine.getPos(), pos -> new Sample(machine.getType(), pos.toImmutable()));
+			machine.profilerSample = sample;
+		}
+		sample.ticks++;
+		return sample;
+	}
+
+	/**
+	 * @return the sample of the machine's current tick, or null when no session is running
+	 */
+	@Nullable
+	public static Sample current(MachineBaseBlockEntity machine) {
+		Sample sample = machine.profilerSample;
+		return running && sample != null && sample.session == session ? sample : null;
+	}
+
+	public static long startPhase(@Nullable Sample sample) {
+		return sample == null ? 0 : System.nanoTime();
+	}
+
+	public static void endPhase(@Nullable Sample sample, Phase phase, long start) {
+		if (sample != null) {
+			sample.nanos[phase.ordinal()] += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Describes the top block entity types, chunks and positions of the current or last session
+	 */
+	public static List<String> dump(int count) {
+		List<String> lines = new ArrayList<>();
+		long duration = (running ? System.nanoTime() : endTime) - startTime;
+		List<Sample> positions = new ArrayList<>();
+		Map<BlockEntityType<?>, Sample> types = new IdentityHashMap<>();
+		Map<String, Sample> chunks = new HashMap<>();
+		for (Map.Entry<World, Map<BlockPos, Sample>> entry : SAMPLES.entrySet()) {
+			String dimension = String.valueOf(DimensionType.getId(entry.getKey().getDimension().getType()));
+			for (Sample sample : entry.getValue().values()) {
+				positions.add(sample.withName(dimension + " " + sample.pos.getX() + ", " + sample.pos.getY() + ", " + sample.pos.getZ()));
+				types.computeIfAbsent(sample.type, type -> new Sample(type, null).withName(String.valueOf(Registry.BLOCK_ENTITY.getId(type)))).add(sample);
+				ChunkPos chunkPos = new ChunkPos(sample.pos);
+				String chunkName = dimension + " " + chunkPos.x + ", " + chunkPos.z;
+				chunks.computeIfAbsent(chunkName, name -> new Sample(null, null).withName(name)).add(sample);
+			}
+		}
+		lines.add(String.format("Machine profile over %.1f seconds, %d machines", duration / 1.0E9, positions.size()));
+		addTop(lines, "Block entity types", new ArrayList<>(types.values()), count, true);
+		addTop(lines, "Chunks", new ArrayList<>(chunks.values()), count, false);
+		addTop(lines, "Positions", positions, count, true);
+		return lines;
+	}
+
+	private static void addTop(List<String> lines, String title, List<Sample> samples, int count, boolean phases) {
+		samples.sort(Comparator.comparingLong(Sample::getTotalNanos).reversed());
+		lines.add(title + ":");
+		for (int i = 0; i < Math.min(count, samples.size()); i++) {
+			Sample sample = samples.get(i);
+			StringBuilder line = new StringBuilder(String.format("  %s: %.3f ms total, %.2f us/tick", sample.name, sample.getTotalNanos() / 1.0E6, sample.ticks == 0 ? 0 : sample.getTotalNanos() / 1.0E3 / sample.ticks));
+			if (phases) {
+				for (Phase phase : Phase.values()) {
+					long nanos = sample.nanos[phase.ordinal()];
+					if (nanos > 0) {
+						line.append(String.format(", %s %.3f ms", phase.getName(), nanos / 1.0E6));
+					}
+				}
+			}
+			lines.add(line.toString());
+		}
+	}
+
+	public static class Sample {
+
+		private final int session = MachineProfiler.session;
+		private final BlockEntityType<?> type;
+		private final BlockPos pos;
+		private final long[] nanos = new long[Phase.values().length];
+		private long ticks;
+		private String name;
+
+		private Sample(BlockEntityType<?> type, BlockPos pos) {
+			this.type = type;
+			this.pos = pos;
+		}
+
+		private Sample withName(String name) {
+			this.name = name;
+			return this;
+		}
+
+		private void add(Sample sample) {
+			for (int i = 0; i < nanos.length; i++) {
+				nanos[i] += sample.nanos[i];
+			}
+			ticks += sample.ticks;
+		}
+
+		public long getTotalNanos() {
+			long total = 0;
+			for (long phaseNanos : nanos) {
+				total += phaseNanos;
+			}
+			return total;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.blockentity;
+
+import net.minecraft.world.World;
+import reborncore.common.RebornCoreConfig;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Ticks the machines that opted in through {@link MachineBaseBlockEntity#useTickScheduler()}, skipping them while
+ * they are idle. A machine is idle after a tick in which nothing woke it and {@link MachineBaseBlockEntity#canIdle()}
+ * holds. It then only ticks every {@link RebornCoreConfig#idleMachineRecheck} ticks until an inventory, energy,
+ * neighbor or config change calls {@link MachineBaseBlockEntity#wakeUp()}.
+ */
+public class MachineTickScheduler {
+
+	// Only touched from the server thread
+	private static final Map<World, Stats> STATS = new WeakHashMap<>();
+
+	public static void tick(MachineBaseBlockEntity machine) {
+		World world = machine.getWorld();
+		if (world == null || world.isClient || !RebornCoreConfig.machineTickScheduler || !machine.useTickScheduler()) {
+			machine.tick();
+			return;
+		}
+		Stats stats = getStats(world);
+		if (machine.idle && ++machine.idleTicks < RebornCoreConfig.idleMachineRecheck) {
+			stats.skipped++;
+			return;
+		}
+		machine.idleTicks = 0;
+		machine.wakeRequested = false;
+		machine.tick();
+		stats.ticked++;
+		machine.idle = !machine.wakeRequested && machine.canIdle();
+	}
+
+	public static Stats getStats(World world) {
+		return STATS.computeIfAbsent(world, w -> new Stats());
+	}
+
+	public static class Stats {
+
+		private long ticked;
+		private long skipped;
+
+		public long getTicked() {
+			return ticked;
+		}
+
+		public long getSkipped() {
+			return skipped;
+		}
+
+		public void reset() {
+			ticked = 0;
+			skipped = 0;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.blockentity;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Remembers the block entities next to a machine so auto IO does not look them up every transfer. A side is
+ * resolved again after a neighbor update on the machine, when the cached block entity was removed, or when the
+ * chunk that side lies in loaded or unloaded block entities since it was resolved. Only server worlds are cached.
+ */
+public class NeighborCache {
+
+	// Per server world, how often each chunk loaded or unloaded block entities. Only touched from the server thread
+	private static final Map<World, Long2IntMap> CHUNK_EPOCHS = new WeakHashMap<>();
+
+	private final MachineBaseBlockEntity machine;
+	private final BlockEntity[] neighbors = new BlockEntity[6];
+	// Chunk epoch of each side when it was resolved, only used for sides that lie in another chunk than the machine
+	private final int[] epochs = new int[6];
+	private int resolvedSides;
+
+	public NeighborCache(MachineBaseBlockEntity machine) {
+		this.machine = machine;
+	}
+
+	public static void onChunkBlockEntitiesChanged(World world, Collection<BlockEntity> blockEntities) {
+		if (world.isClient || blockEntities.isEmpty()) {
+			return;
+		}
+		Long2IntMap chunkEpochs = getChunkEpochs(world);
+		// Chunks load and unload their block entities together, only bump each run of the same chunk once
+		long lastChunk = 0;
+		boolean first = true;
+		for (BlockEntity blockEntity : blockEntities) {
+			BlockPos pos = blockEntity.getPos();
+			long chunk = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+			if (first || chunk != lastChunk) {
+				chunkEpochs.put(chunk, chunkEpochs.get(chunk) + 1);
+				lastChunk = chunk;
+				first = false;
+			}
+		}
+	}
+
+	private static Long2IntMap getChunkEpochs(World world) {
+		return CHUNK_EPOCHS.computeIfAbsent(world, w -> new Long2IntOpenHashMap());
+	}
+
+	@Nullable
+	public BlockEntity get(Direction side) {
+		World world = machine.getWorld();
+		if (world == null) {
+			return null;
+		}
+		BlockPos pos = machine.getPos().offset(side);
+		if (world.isClient) {
+			return world.getBlockEntity(pos);
+		}
+		int index = side.ordinal();
+		int chunkX = pos.getX() >> 4;
+		int chunkZ = pos.getZ() >> 4;
+		// Within the machine's own chunk the side can only change together with the machine or through a neighbor update
+		boolean otherChunk = chunkX != machine.getPos().getX() >> 4 || chunkZ != machine.getPos().getZ() >> 4;
+		int epoch = otherChunk ? getChunkEpochs(world).get(ChunkPos.toLong(chunkX, chunkZ)) : 0;
+		BlockEntity blockEntity = neighbors[index];
+		if ((resolvedSides & (1 << index)) == 0 || epochs[index] != epoch || (blockEntity != null && blockEntity.isInvalid())) {
+			blockEntity = world.getBlockEntity(pos);
+			neighbors[index] = blockEntity;
+			epochs[index] = epoch;
+			resolvedSides |= 1 << index;
+		}
+		return blockEntity;
+	}
+
+	public void invalidate() {
+		resolvedSides = 0;
+		Arrays.fill(neighbors, null);
+	}
+}
@@ -35,6 +35,7 @@ import net.minecraft.util.math.Direction;
 import org.apache.commons.lang3.Validate;
 import reborncore.RebornCore;
 import reborncore.api.items.InventoryUtils;
+import reborncore.common.RebornCoreConfig;
 import reborncore.common.util.ItemUtils;
 import reborncore.common.util.NBTSerializable;
 import reborncore.common.util.RebornInventory;
@@ -46,7 +47,28 @@ import java.util.stream.Collectors;
 
 public class SlotConfiguration implements NBTSerializable {
 
-	List<SlotConfigHolder> slotDetails = new ArrayList<>();
+	//Each slot is packed into a single int, 2 bits of ExtractConfig per side followed by the flag bits below
+	private static final int SIDE_BITS = 2;
+	private static final int SIDE_MASK = (1 << SIDE_BITS) - 1;
+	private static final int INPUT = 1 << 12;
+	private static final int OUTPUT = 1 << 13;
+	private static final int FILTER = 1 << 14;
+	private static final int PRESENT = 1 << 15;
+
+	private static final ExtractConfig[] EXTRACT_CONFIGS = ExtractConfig.values();
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private int[] slotConfigs = new int[0];
+	private SlotConfigHolder[] holders = new SlotConfigHolder[0];
+	private int slotCount;
+	@Nullable
+	private List<SlotConfigHolder> slotDetails;
+	//Lazily built result of getAvailableSlots for each side, cleared whenever a slot config changes
+	private final int[][] availableSlots = new int[DIRECTIONS.length][];
+	//Auto IO slots for each side and a mask of the sides that have any, -1 until built
+	private final int[][] inputSlots = new int[DIRECTIONS.length][];
+	private final int[][] outputSlots = new int[DIRECTIONS.length][];
+	private int ioSides = -1;
 
 	@Nullable
 	Inventory inventory;
@@ -55,26 +77,47 @@ public class SlotConfiguration implements NBTSerializable {
 		this.inventory = inventory;
 
 		for (int i = 0; i < inventory.getInvSize(); i++) {
-			updateSlotDetails(new SlotConfigHolder(i));
+			setSlotConfig(i, 0);
 		}
 	}
 
 	public void update(MachineBaseBlockEntity machineBase) {
-		if (inventory == null && machineBase.getOptionalInventory().isPresent()) {
-			inventory = machineBase.getOptionalInventory().get();
+		if (inventory == null) {
+			inventory = machineBase.getMachineInventory();
 		}
-		if (inventory != null && slotDetails.size() != inventory.getInvSize()) {
+		if (inventory != null && slotCount != inventory.getInvSize()) {
 			for (int i = 0; i < inventory.getInvSize(); i++) {
-				SlotConfigHolder holder = getSlotDetails(i);
-				if (holder == null) {
+				if ((getSlotConfig(i) & PRESENT) == 0) {
 					RebornCore.LOGGER.debug("Fixed slot " + i + " in " + machineBase);
 					//humm somthing has gone wrong
-					updateSlotDetails(new SlotConfigHolder(i));
+					setSlotConfig(i, 0);
 				}
 			}
 		}
-		if (!machineBase.getWorld().isClient && machineBase.getWorld().getTime() % machineBase.slotTransferSpeed() == 0) {
-			getSlotDetails().forEach(slotConfigHolder -> slotConfigHolder.handleItemIO(machineBase));
+		if (!machineBase.getWorld().isClient && machineBase.isTransferTick()) {
+			if (ioSides == -1) {
+				buildIOSlots();
+			}
+			if (ioSides == 0) {
+				return;
+			}
+			NeighborCache neighbors = machineBase.getNeighborCache();
+			for (Direction side : DIRECTIONS) {
+				int index = side.ordinal();
+				if ((ioSides & (1 << index)) == 0) {
+					continue;
+				}
+				BlockEntity neighbor = neighbors.get(side);
+				if (!(neighbor instanceof Inventory)) {
+					continue;
+				}
+				for (int slotID : inputSlots[index]) {
+					handleItemInput(machineBase, slotID, side, (Inventory) neighbor);
+				}
+				for (int slotID : outputSlots[index]) {
+					handleItemOutput(machineBase, slotID, side, neighbor);
+				}
+			}
 		}
 	}
 
@@ -83,6 +126,15 @@ public class SlotConfiguration implements NBTSerializable {
 	}
 
 	public List<SlotConfigHolder> getSlotDetails() {
+		if (slotDetails == null) {
+			List<SlotConfigHolder> details = new ArrayList<>(slotCount);
+			for (int i = 0; i < slotConfigs.length; i++) {
+				if ((slotConfigs[i] & PRESENT) != 0) {
+					details.add(getSlotDetails(i));
+				}
+			}
+			slotDetails = Collections.unmodifiableList(details);
+		}
 		return slotDetails;
 	}
 
@@ -93,35 +145,235 @@ public class SlotConfiguration implements NBTSerializable {
 	 * @return SlotConfigHolder
 	 */
 	public SlotConfigHolder updateSlotDetails(SlotConfigHolder slotConfigHolder) {
-		SlotConfigHolder lookup = getSlotDetails(slotConfigHolder.slotID);
-		if (lookup != null) {
-			slotDetails.remove(lookup);
-		}
-		slotDetails.add(slotConfigHolder);
-		return slotConfigHolder;
+		int slotID = slotConfigHolder.slotID;
+		setSlotConfig(slotID, slotConfigHolder.getConfig());
+		if (slotConfigHolder.owner == null) {
+			//A detached holder becomes the view for this slot, so later changes made through it still apply
+			slotConfigHolder.owner = this;
+			holders[slotID] = slotConfigHolder;
+		}
+		return getSlotDetails(slotID);
 	}
 
 	@Nullable
 	public SlotConfigHolder getSlotDetails(int id) {
-		for (SlotConfigHolder detail : slotDetails) {
-			if (detail.slotID == id) {
-				return detail;
-			}
+		if ((getSlotConfig(id) & PRESENT) == 0) {
+			return null;
 		}
-		return null;
+		SlotConfigHolder holder = holders[id];
+		if (holder == null) {
+			holder = new SlotConfigHolder(this, id);
+			holders[id] = holder;
+		}
+		return holder;
 	}
 
 	public List<SlotConfig> getSlotsForSide(Direction facing) {
-		return slotDetails.stream().map(slotConfigHolder -> slotConfigHolder.getSideDetail(facing)).collect(Collectors.toList());
+		return getSlotDetails().stream().map(slotConfigHolder -> slotConfigHolder.getSideDetail(facing)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Gets the IO config of a slot on a side without going through the holder views
+	 *
+	 * @param slotID slot to look up
+	 * @param side side of the machine
+	 * @return ExtractConfig, NONE for slots that are not configured
+	 */
+	public ExtractConfig getSideConfig(int slotID, Direction side) {
+		return unpack(getSlotConfig(slotID), side);
+	}
+
+	/**
+	 * Gets the slots that are not set to NONE on a side, the returned array is shared and must not be modified
+	 *
+	 * @param side side of the machine
+	 * @return int[] slot ids in ascending order
+	 */
+	public int[] getAvailableSlots(Direction side) {
+		int[] slots = availableSlots[side.ordinal()];
+		if (slots == null) {
+			slots = collectSlots(side, 0, null);
+			availableSlots[side.ordinal()] = slots;
+		}
+		return slots;
+	}
+
+	private void buildIOSlots() {
+		int sides = 0;
+		for (Direction side : DIRECTIONS) {
+			int index = side.ordinal();
+			inputSlots[index] = collectSlots(side, INPUT, ExtractConfig.INPUT);
+			outputSlots[index] = collectSlots(side, OUTPUT, ExtractConfig.OUTPUT);
+			if (inputSlots[index].length > 0 || outputSlots[index].length > 0) {
+				sides |= 1 << index;
+			}
+		}
+		ioSides = sides;
+	}
+
+	/**
+	 * @param flag flag bits the slot must have, 0 for none
+	 * @param extractConfig config the side must have, null to match anything but NONE
+	 */
+	private int[] collectSlots(Direction side, int flag, @Nullable ExtractConfig extractConfig) {
+		int required = PRESENT | flag;
+		int count = 0;
+		for (int config : slotConfigs) {
+			if ((config & required) == required && matches(unpack(config, side), extractConfig)) {
+				count++;
+			}
+		}
+		int[] slots = new int[count];
+		int i = 0;
+		for (int slotID = 0; slotID < slotConfigs.length; slotID++) {
+			int config = slotConfigs[slotID];
+			if ((config & required) == required && matches(unpack(config, side), extractConfig)) {
+				slots[i++] = slotID;
+			}
+		}
+		return slots;
+	}
+
+	private static boolean matches(ExtractConfig config, @Nullable ExtractConfig extractConfig) {
+		return extractConfig == null ? config != ExtractConfig.NONE : config == extractConfig;
+	}
+
+	/**
+	 * @return true when any slot has auto input or output on a side configured for it
+	 */
+	public boolean hasAutoIO() {
+		if (ioSides == -1) {
+			buildIOSlots();
+		}
+		return ioSides != 0;
+	}
+
+	public boolean isFilterEnabled(int slotID) {
+		return (getSlotConfig(slotID) & FILTER) != 0;
+	}
+
+	private int getSlotConfig(int slotID) {
+		if (slotID < 0 || slotID >= slotConfigs.length) {
+			return 0;
+		}
+		return slotConfigs[slotID];
+	}
+
+	private void setSlotConfig(int slotID, int config) {
+		Validate.isTrue(slotID >= 0, "slot id cannot be negative");
+		if (slotID >= slotConfigs.length) {
+			slotConfigs = Arrays.copyOf(slotConfigs, slotID + 1);
+			holders = Arrays.copyOf(holders, slotID + 1);
+		}
+		if ((slotConfigs[slotID] & PRESENT) == 0) {
+			slotCount++;
+			slotDetails = null;
+		}
+		if (slotConfigs[slotID] != (config | PRESENT)) {
+			Arrays.fill(availableSlots, null);
+			ioSides = -1;
+		}
+		slotConfigs[slotID] = config | PRESENT;
+	}
+
+	private static ExtractConfig unpack(int config, Direction side) {
+		return EXTRACT_CONFIGS[(config >>> (side.ordinal() * SIDE_BITS)) & SIDE_MASK];
+	}
+
+	private static int pack(int config, Direction side, ExtractConfig extractConfig) {
+		int shift = side.ordinal() * SIDE_BITS;
+		return (config & ~(SIDE_MASK << shift)) | (extractConfig.ordinal() << shift);
+	}
+
+	private static int setFlag(int config, int flag, boolean value) {
+		return value ? config | flag : config & ~flag;
+	}
+
+	private static void handleItemInput(MachineBaseBlockEntity machineBase, int slotID, Direction side, Inventory sourceInv) {
+		RebornInventory<?> inventory = machineBase.getMachineInventory();
+		ItemStack targetStack = inventory.getInvStack(slotID);
+		if (targetStack.getMaxCount() == targetStack.getCount()) {
+			return;
+		}
+		SidedInventory sidedInventory = null;
+		if (sourceInv instanceof SidedInventory) {
+			sidedInventory = (SidedInventory) sourceInv;
+		}
+		boolean bulk = RebornCoreConfig.autoIOBulkTransfer;
+		int remaining = bulk ? Math.max(1, machineBase.slotTransferAmount()) : 4;
+		boolean moved = false;
+
+		for (int i = 0; i < sourceInv.getInvSize(); i++) {
+			ItemStack sourceStack = sourceInv.getInvStack(i);
+			if (sourceStack.isEmpty()) {
+				continue;
+			}
+			if(!canInsertItem(slotID, sourceStack, side, machineBase)){
+				continue;
+			}
+
+			if (sidedInventory != null && !sidedInventory.canExtractInvStack(i, sourceStack, side.getOpposite())) {
+				continue;
+			}
+
+			//Checks if we are going to merge stacks that the items are the same
+			if (!targetStack.isEmpty()) {
+				if (!ItemUtils.isItemEqual(sourceStack, targetStack, true, false)) {
+					continue;
+				}
+			}
+			int space = targetStack.isEmpty() ? sourceStack.getMaxCount() : targetStack.getMaxCount() - targetStack.getCount();
+			if (bulk) {
+				space = Math.min(space, inventory.getInvMaxStackAmount() - targetStack.getCount());
+			}
+			int extract = Math.min(space, remaining);
+			if (!bulk && targetStack.isEmpty()) {
+				extract = remaining;
+			}
+			if (extract <= 0) {
+				break;
+			}
+			ItemStack extractedStack = sourceInv.takeInvStack(i, extract);
+			if (targetStack.isEmpty()) {
+				inventory.setInvStack(slotID, extractedStack);
+			} else {
+				targetStack.increment(extractedStack.getCount());
+			}
+			moved = true;
+			remaining -= extractedStack.getCount();
+			targetStack = inventory.getInvStack(slotID);
+			//Without bulk transfer only the first matching source slot is used
+			if (!bulk || remaining <= 0 || targetStack.getCount() >= targetStack.getMaxCount()) {
+				break;
+			}
+		}
+		if (moved) {
+			inventory.setChanged();
+		}
+	}
+
+	private static void handleItemOutput(MachineBaseBlockEntity machineBase, int slotID, Direction side, BlockEntity blockEntity) {
+		RebornInventory<?> inventory = machineBase.getMachineInventory();
+		ItemStack sourceStack = inventory.getInvStack(slotID);
+		if (sourceStack.isEmpty()) {
+			return;
+		}
+
+		int inserted = InventoryUtils.commitInsert(sourceStack, sourceStack.getCount(), blockEntity, side.getOpposite());
+		if (inserted > 0) {
+			sourceStack.decrement(inserted);
+			inventory.setInvStack(slotID, sourceStack.isEmpty() ? ItemStack.EMPTY : sourceStack);
+		}
 	}
 
 	@Nonnull
 	@Override
 	public CompoundTag write() {
 		CompoundTag tagCompound = new CompoundTag();
-		tagCompound.putInt("size", slotDetails.size());
-		for (int i = 0; i < slotDetails.size(); i++) {
-			tagCompound.put("slot_" + i, slotDetails.get(i).write());
+		List<SlotConfigHolder> details = getSlotDetails();
+		tagCompound.putInt("size", details.size());
+		for (int i = 0; i < details.size(); i++) {
+			tagCompound.put("slot_" + i, details.get(i).write());
 		}
 		return tagCompound;
 	}
@@ -136,82 +388,85 @@ public class SlotConfiguration implements NBTSerializable {
 		}
 	}
 
+	/**
+	 * View of a single slot, once added to a {@link SlotConfiguration} it reads and writes the packed config
+	 */
 	public static class SlotConfigHolder implements NBTSerializable {
 
 		int slotID;
-		HashMap<Direction, SlotConfig> sideMap;
-		boolean input, output, filter;
+		@Nullable
+		private SlotConfiguration owner;
+		//Only used while the holder is not part of a configuration
+		private int config;
 
 		public SlotConfigHolder(int slotID) {
 			this.slotID = slotID;
-			sideMap = new HashMap<>();
-			Arrays.stream(Direction.values()).forEach(facing -> sideMap.put(facing, new SlotConfig(facing, slotID)));
+		}
+
+		private SlotConfigHolder(SlotConfiguration owner, int slotID) {
+			this.owner = owner;
+			this.slotID = slotID;
 		}
 
 		public SlotConfigHolder(CompoundTag tagCompound) {
-			sideMap = new HashMap<>();
 			read(tagCompound);
-			Validate.isTrue(Arrays.stream(Direction.values())
-				                .map(enumFacing -> sideMap.get(enumFacing))
-				                .noneMatch(Objects::isNull),
-			                "sideMap failed to load from nbt"
-			);
+		}
+
+		private int getConfig() {
+			return owner != null ? owner.getSlotConfig(slotID) : config;
+		}
+
+		private void setConfig(int config) {
+			if (owner != null) {
+				owner.setSlotConfig(slotID, config);
+			} else {
+				this.config = config;
+			}
 		}
 
 		public SlotConfig getSideDetail(Direction side) {
 			Validate.notNull(side, "A none null side must be used");
-			SlotConfig slotConfig = sideMap.get(side);
-			Validate.notNull(slotConfig, "slotConfig was null for side " + side);
-			return slotConfig;
+			return new SlotConfig(this, side);
 		}
 
 		public List<SlotConfig> getAllSides() {
-			return new ArrayList<>(sideMap.values());
+			List<SlotConfig> sides = new ArrayList<>(DIRECTIONS.length);
+			for (Direction side : DIRECTIONS) {
+				sides.add(new SlotConfig(this, side));
+			}
+			return sides;
 		}
 
 		public void updateSlotConfig(SlotConfig config) {
-			SlotConfig toEdit = sideMap.get(config.side);
-			toEdit.slotIO = config.slotIO;
+			setConfig(pack(getConfig(), config.getSide(), config.getSlotIO().getIoConfig()));
 		}
 
-		private void handleItemIO(MachineBaseBlockEntity machineBase) {
-			if (!input && !output) {
-				return;
-			}
-			getAllSides().stream()
-				.filter(config -> config.getSlotIO().getIoConfig() != ExtractConfig.NONE)
-				.forEach(config -> {
-					if (input && config.getSlotIO().getIoConfig() == ExtractConfig.INPUT) {
-						config.handleItemInput(machineBase);
-					}
-					if (output && config.getSlotIO().getIoConfig() == ExtractConfig.OUTPUT) {
-						config.handleItemOutput(machineBase);
-					}
-				});
+		public ExtractConfig getSideConfig(Direction side) {
+			return unpack(getConfig(), side);
 		}
 
 		public boolean autoInput() {
-			return input;
+			return (getConfig() & INPUT) != 0;
 		}
 
 		public boolean autoOutput() {
-			return output;
+			return (getConfig() & OUTPUT) != 0;
 		}
 
 		public boolean filter() {
-			return filter;
+			return (getConfig() & FILTER) != 0;
 		}
 
 		public void setInput(boolean input) {
-			this.input = input;
+			setConfig(setFlag(getConfig(), INPUT, input));
 		}
 
 		public void setOutput(boolean output) {
-			this.output = output;
+			setConfig(setFlag(getConfig(), OUTPUT, output));
 		}
 
 		public void setfilter(boolean filter) {
-			this.filter = filter;
+			setConfig(setFlag(getConfig(), FILTER, filter));
 		}
 
 		@Nonnull
@@ -219,36 +474,42 @@ public class SlotConfiguration implements NBTSerializable {
 		public CompoundTag write() {
 			CompoundTag compound = new CompoundTag();
 			compound.putInt("slotID", slotID);
-			Arrays.stream(Direction.values()).forEach(facing -> compound.put("side_" + facing.ordinal(), sideMap.get(facing).write()));
-			compound.putBoolean("input", input);
-			compound.putBoolean("output", output);
-			compound.putBoolean("filter", filter);
+			for (Direction facing : DIRECTIONS) {
+				compound.put("side_" + facing.ordinal(), getSideDetail(facing).write());
+			}
+			compound.putBoolean("input", autoInput());
+			compound.putBoolean("output", autoOutput());
+			compound.putBoolean("filter", filter());
 			return compound;
 		}
 
 		@Override
 		public void read(@Nonnull CompoundTag nbt) {
-			sideMap.clear();
+			boolean filter = filter();
 			slotID = nbt.getInt("slotID");
-			Arrays.stream(Direction.values()).forEach(facing -> {
-				CompoundTag compound = nbt.getCompound("side_" + facing.ordinal());
-				SlotConfig config = new SlotConfig(compound);
-				sideMap.put(facing, config);
-			});
-			input = nbt.getBoolean("input");
-			output = nbt.getBoolean("output");
+			int config = 0;
+			for (Direction facing : DIRECTIONS) {
+				SlotConfig slotConfig = new SlotConfig(nbt.getCompound("side_" + facing.ordinal()));
+				config = pack(config, facing, slotConfig.getSlotIO().getIoConfig());
+			}
+			config = setFlag(config, INPUT, nbt.getBoolean("input"));
+			config = setFlag(config, OUTPUT, nbt.getBoolean("output"));
 			if (nbt.contains("filter")) { //Was added later, this allows old saves to be upgraded
 				filter = nbt.getBoolean("filter");
 			}
+			setConfig(setFlag(config, FILTER, filter));
 		}
 	}
 
 	public static class SlotConfig implements NBTSerializable {
 		@Nonnull
 		private Direction side;
-		@Nonnull
+		@Nullable
 		private SlotIO slotIO;
 		private int slotID;
+		//When set this config is a view of a side of the holder
+		@Nullable
+		private SlotConfigHolder holder;
 
 		public SlotConfig(@Nonnull Direction side, int slotID) {
 			this.side = side;
@@ -268,6 +529,12 @@ public class SlotConfiguration implements NBTSerializable {
 			Validate.notNull(slotIO, "error when loading slot config");
 		}
 
+		private SlotConfig(SlotConfigHolder holder, Direction side) {
+			this.holder = holder;
+			this.side = side;
+			this.slotID = holder.slotID;
+		}
+
 		@Nonnull
 		public Direction getSide() {
 			Validate.notNull(side);
@@ -276,6 +543,9 @@ public class SlotConfiguration implements NBTSerializable {
 
 		@Nonnull
 		public SlotIO getSlotIO() {
+			if (holder != null) {
+				return new SlotIO(holder.getSideConfig(side));
+			}
 			Validate.notNull(slotIO);
 			return slotIO;
 		}
@@ -284,80 +554,19 @@ public class SlotConfiguration implements NBTSerializable {
 			return slotID;
 		}
 
-		private void handleItemInput(MachineBaseBlockEntity machineBase) {
-			RebornInventory<?> inventory = machineBase.getOptionalInventory().get();
-			ItemStack targetStack = inventory.getInvStack(slotID);
-			if (targetStack.getMaxCount() == targetStack.getCount()) {
-				return;
-			}
-			BlockEntity blockEntity = machineBase.getWorld().getBlockEntity(machineBase.getPos().offset(side));
-			if (!(blockEntity instanceof net.minecraft.inventory.Inventory)) {
-				return;
-			}
-			Inventory sourceInv = (Inventory) blockEntity;
-			SidedInventory sidedInventory = null;
-			if (sourceInv instanceof SidedInventory) {
-				sidedInventory = (SidedInventory) sourceInv;
-			}
-
-			for (int i = 0; i < sourceInv.getInvSize(); i++) {
-				ItemStack sourceStack = sourceInv.getInvStack(i);
-				if (sourceStack.isEmpty()) {
-					continue;
-				}
-				if(!canInsertItem(slotID, sourceStack, side, machineBase)){
-					continue;
-				}
-
-				if (sidedInventory != null && !sidedInventory.canExtractInvStack(i, sourceStack, side.getOpposite())) {
-					continue;
-				}
-
-				//Checks if we are going to merge stacks that the items are the same
-				if (!targetStack.isEmpty()) {
-					if (!ItemUtils.isItemEqual(sourceStack, targetStack, true, false)) {
-						continue;
-					}
-				}
-				int extract = 4;
-				if (!targetStack.isEmpty()) {
-					extract = Math.min(targetStack.getMaxCount() - targetStack.getCount(), extract);
-				}
-				ItemStack extractedStack = sourceInv.takeInvStack(i, extract);
-				if (targetStack.isEmpty()) {
-					inventory.setInvStack(slotID, extractedStack);
-				} else {
-					inventory.getInvStack(slotID).increment(extractedStack.getCount());
-				}
-				inventory.setChanged();
-				break;
-			}
-		}
-
-		private void handleItemOutput(MachineBaseBlockEntity machineBase) {
-			RebornInventory<?> inventory = machineBase.getOptionalInventory().get();
-			ItemStack sourceStack = inventory.getInvStack(slotID);
-			if (sourceStack.isEmpty()) {
-				return;
-			}
-			BlockEntity blockEntity = machineBase.getWorld().getBlockEntity(machineBase.getPos().offset(side));
-
-			ItemStack stack = InventoryUtils.insertItem(sourceStack, blockEntity, side.getOpposite());
-			inventory.setInvStack(slotID, stack);
-		}
-
 		@Nonnull
 		@Override
 		public CompoundTag write() {
 			CompoundTag tagCompound = new CompoundTag();
 			tagCompound.putInt("side", side.ordinal());
-			tagCompound.put("config", slotIO.write());
+			tagCompound.put("config", getSlotIO().write());
 			tagCompound.putInt("slot", slotID);
 			return tagCompound;
 		}
 
 		@Override
 		public void read(@Nonnull CompoundTag nbt) {
+			holder = null;
 			side = Direction.values()[nbt.getInt("side")];
 			slotIO = new SlotIO(nbt.getCompound("config"));
 			slotID = nbt.getInt("slot");
@@ -448,10 +657,9 @@ public class SlotConfiguration implements NBTSerializable {
 		if(itemStackIn.isEmpty()){
 			return false;
 		}
-		SlotConfiguration.SlotConfigHolder slotConfigHolder = blockEntity.getSlotConfiguration().getSlotDetails(index);
-		SlotConfiguration.SlotConfig slotConfig = slotConfigHolder.getSideDetail(direction);
-		if (slotConfig.getSlotIO().getIoConfig().isInsert()) {
-			if (slotConfigHolder.filter()) {
+		SlotConfiguration slotConfiguration = blockEntity.getSlotConfiguration();
+		if (slotConfiguration.getSideConfig(index, direction).isInsert()) {
+			if (slotConfiguration.isFilterEnabled(index)) {
 				if(blockEntity instanceof SlotFilter){
 					return ((SlotFilter) blockEntity).isStackValid(index, itemStackIn);
 				}
@@ -463,12 +671,7 @@ public class SlotConfiguration implements NBTSerializable {
 
 	//DO NOT CALL THIS, use the inventory access on the inventory
 	public static boolean canExtractItem(int index, ItemStack stack, Direction direction, MachineBaseBlockEntity blockEntity) {
-		SlotConfiguration.SlotConfigHolder slotConfigHolder = blockEntity.getSlotConfiguration().getSlotDetails(index);
-		SlotConfiguration.SlotConfig slotConfig = slotConfigHolder.getSideDetail(direction);
-		if (slotConfig.getSlotIO().getIoConfig().isExtact()) {
-			return true;
-		}
-		return false;
+		return blockEntity.getSlotConfiguration().getSideConfig(index, direction).isExtact();
 	}
 
 	public interface SlotFilter {
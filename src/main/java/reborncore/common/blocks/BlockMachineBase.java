@@ -100,8 +100,12 @@ public abstract class BlockMachineBase extends BaseBlockEntityProvider implement
 		if (hasCustomStates) {
 			return;
 		}
-		Direction facing = world.getBlockState(pos).get(FACING);
-		BlockState state = world.getBlockState(pos).with(ACTIVE, active).with(FACING, facing);
+		BlockState oldState = world.getBlockState(pos);
+		if (oldState.get(ACTIVE) == active) {
+			return;
+		}
+		Direction facing = oldState.get(FACING);
+		BlockState state = oldState.with(ACTIVE, active).with(FACING, facing);
 		world.setBlockState(pos, state, 3);
 	}
 
@@ -155,6 +159,17 @@ public abstract class BlockMachineBase extends BaseBlockEntityProvider implement
 		}
 	}
 
+	@SuppressWarnings("deprecation")
+	@Override
+	public void neighborUpdate(BlockState state, World world, BlockPos pos, Block block, BlockPos neighborPos, boolean moved) {
+		super.neighborUpdate(state, world, pos, block, neighborPos, moved);
+		BlockEntity blockEntity = world.getBlockEntity(pos);
+		if (blockEntity instanceof MachineBaseBlockEntity) {
+			((MachineBaseBlockEntity) blockEntity).getNeighborCache().invalidate();
+			((MachineBaseBlockEntity) blockEntity).wakeUp();
+		}
+	}
+
 	@Override
 	public void onBreak(World world, BlockPos blockPos, BlockState blockState, PlayerEntity playerEntity) {
 		BlockEntity blockEntity = world.getBlockEntity(blockPos);
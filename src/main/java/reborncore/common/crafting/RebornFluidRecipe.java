@@ -34,6 +34,7 @@ import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.JsonHelper;
+import net.minecraft.util.PacketByteBuf;
 import net.minecraft.util.registry.Registry;
 import reborncore.common.util.Tank;
 
@@ -75,6 +76,20 @@ public abstract class RebornFluidRecipe extends RebornRecipe {
 		}
 	}
 
+	@Override
+	public void writeSync(PacketByteBuf byteBuf, RecipeSyncContext context) {
+		super.writeSync(byteBuf, context);
+		context.writeIdentifier(byteBuf, Registry.FLUID.getId(fluidInstance.getFluid()));
+		byteBuf.writeVarInt(fluidInstance.getAmount().getRawValue());
+	}
+
+	@Override
+	public void readSync(PacketByteBuf byteBuf, RecipeSyncContext context) {
+		super.readSync(byteBuf, context);
+		Fluid fluid = Registry.FLUID.get(context.readIdentifier(byteBuf));
+		fluidInstance = new FluidInstance(fluid, FluidValue.fromRaw(byteBuf.readVarInt()));
+	}
+
 	public abstract Tank getTank(BlockEntity be);
 
 	@Override
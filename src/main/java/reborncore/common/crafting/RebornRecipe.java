@@ -63,6 +63,7 @@ public class RebornRecipe implements Recipe<Inventory>, CustomOutputRecipe {
 
 	private DefaultedList<RebornIngredient> ingredients = DefaultedList.of();
 	private DefaultedList<ItemStack> outputs = DefaultedList.of();
+	private ItemStack[] outputArray;
 	protected int power;
 	protected int time;
 
@@ -128,6 +129,64 @@ public class RebornRecipe implements Recipe<Inventory>, CustomOutputRecipe {
 		jsonObject.add("results", resultsArray);
 	}
 
+	/**
+	 * @return true if every ingredient can be written with the binary recipe sync
+	 */
+	public boolean canWriteSync() {
+		for (RebornIngredient ingredient : ingredients) {
+			if (!ingredient.canWrite()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Binary version of {@link #serialize(JsonObject)} used for recipe sync. Recipes that read extra data from json
+	 * should override this and {@link #readSync(PacketByteBuf, RecipeSyncContext)}, otherwise they are synced as json.
+	 */
+	public void writeSync(PacketByteBuf byteBuf, RecipeSyncContext context) {
+		byteBuf.writeBoolean(isDummy());
+		if(isDummy()){
+			return;
+		}
+		byteBuf.writeVarInt(power);
+		byteBuf.writeVarInt(time);
+
+		byteBuf.writeVarInt(ingredients.size());
+		for (RebornIngredient ingredient : ingredients) {
+			IngredientManager.write(byteBuf, context, ingredient);
+		}
+
+		byteBuf.writeVarInt(outputs.size());
+		for (ItemStack stack : outputs) {
+			context.writeStack(byteBuf, stack);
+		}
+	}
+
+	public void readSync(PacketByteBuf byteBuf, RecipeSyncContext context) {
+		if(byteBuf.readBoolean()){
+			makeDummy();
+			return;
+		}
+
+		//Crash if the recipe has all ready been deserialized
+		Validate.isTrue(ingredients.isEmpty());
+
+		power = byteBuf.readVarInt();
+		time = byteBuf.readVarInt();
+
+		int ingredientCount = byteBuf.readVarInt();
+		for (int i = 0; i < ingredientCount; i++) {
+			ingredients.add(IngredientManager.read(byteBuf, context));
+		}
+
+		int outputCount = byteBuf.readVarInt();
+		for (int i = 0; i < outputCount; i++) {
+			outputs.add(context.readStack(byteBuf));
+		}
+	}
+
 	public void serialize(PacketByteBuf byteBuf) {
 
 	}
@@ -170,6 +229,18 @@ public class RebornRecipe implements Recipe<Inventory>, CustomOutputRecipe {
 		return Collections.unmodifiableList(outputs);
 	}
 
+	/**
+	 * The outputs as an array, for code that reads them on every craft. Neither the array nor its stacks may be modified.
+	 */
+	public ItemStack[] getOutputArray() {
+		ItemStack[] array = outputArray;
+		if (array == null || array.length != outputs.size()) {
+			array = outputs.toArray(new ItemStack[0]);
+			outputArray = array;
+		}
+		return array;
+	}
+
 	public int getPower() {
 		return power;
 	}
@@ -239,7 +310,7 @@ public class RebornRecipe implements Recipe<Inventory>, CustomOutputRecipe {
 		return true;
 	}
 
-	private boolean isDummy() {
+	public boolean isDummy() {
 		return dummy;
 	}
 
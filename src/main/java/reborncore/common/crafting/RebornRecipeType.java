@@ -35,7 +35,10 @@ import net.minecraft.world.World;
 import reborncore.RebornCore;
 import reborncore.common.util.serialization.SerializationUtil;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
 import java.util.List;
 
 public class RebornRecipeType<R extends RebornRecipe> implements RecipeType, RecipeSerializer {
@@ -44,35 +47,86 @@ public class RebornRecipeType<R extends RebornRecipe> implements RecipeType, Rec
 
 	private final Identifier typeId;
 
+	private final boolean binarySync;
+
+	//Looked up once as recipes are created in parallel during a reload
+	private final MethodHandle constructor;
+
 	public RebornRecipeType(Class<R> clazz, Identifier typeId) {
 		this.clazz = clazz;
 		this.typeId = typeId;
+		this.binarySync = hasBinarySync(clazz);
+		this.constructor = findConstructor(clazz);
 	}
 
-	@Override
-	public R read(Identifier recipeId, JsonObject json) {
-		Identifier type = new Identifier(JsonHelper.getString(json, "type"));
-		if (!type.equals(typeId)) {
-			throw new RuntimeException("RebornRecipe type not supported!");
+	private static MethodHandle findConstructor(Class<?> clazz) {
+		try {
+			return MethodHandles.publicLookup().findConstructor(clazz, MethodType.methodType(void.class, RebornRecipeType.class, Identifier.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			//Fails when the first recipe is created, as it did before
+			return null;
+		}
+	}
+
+	//Recipes that add their own json data need to implement the binary sync as well, if they do not they are synced as json
+	private static boolean hasBinarySync(Class<?> clazz) {
+		for (Class<?> recipeClass = clazz; recipeClass != null && recipeClass != RebornRecipe.class; recipeClass = recipeClass.getSuperclass()) {
+			boolean json = declaresMethod(recipeClass, "serialize", JsonObject.class) || declaresMethod(recipeClass, "deserialize", JsonObject.class);
+			boolean binary = declaresMethod(recipeClass, "writeSync", PacketByteBuf.class, RecipeSyncContext.class) && declaresMethod(recipeClass, "readSync", PacketByteBuf.class, RecipeSyncContext.class);
+			if (json && !binary) {
+				return false;
+			}
 		}
+		return true;
+	}
 
-		R recipe = newRecipe(recipeId);
+	private static boolean declaresMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+		return Arrays.stream(clazz.getDeclaredMethods())
+			.anyMatch(method -> method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes));
+	}
 
-		try{
-			if(!ConditionManager.shouldLoadRecipe(json)) {
-				recipe.makeDummy();
-				return recipe;
+	@Override
+	public R read(Identifier recipeId, JsonObject json) {
+		RecipeReloadPipeline.PreparedRecipe<R> prepared = RecipeReloadPipeline.getPrepared(this, recipeId, json);
+		if (prepared != null) {
+			//Errors are logged here so they appear in the same order as if the recipes were read one at a time
+			if (prepared.getError() != null) {
+				logReadError(recipeId, prepared.getError());
 			}
+			return prepared.getRecipe();
+		}
 
-			recipe.deserialize(json);
+		R recipe = createRecipe(recipeId, json);
+		try{
+			readRecipe(recipe, json);
 		} catch (Throwable t){
-			t.printStackTrace();
-			RebornCore.LOGGER.error("Failed to read recipe: " + recipeId);
+			logReadError(recipeId, t);
 		}
 		return recipe;
 
 	}
 
+	R createRecipe(Identifier recipeId, JsonObject json) {
+		Identifier type = new Identifier(JsonHelper.getString(json, "type"));
+		if (!type.equals(typeId)) {
+			throw new RuntimeException("RebornRecipe type not supported!");
+		}
+		return newRecipe(recipeId);
+	}
+
+	void readRecipe(R recipe, JsonObject json) {
+		if(!ConditionManager.shouldLoadRecipe(json)) {
+			recipe.makeDummy();
+			return;
+		}
+		recipe.deserialize(json);
+	}
+
+	private static void logReadError(Identifier recipeId, Throwable t) {
+		t.printStackTrace();
+		RebornCore.LOGGER.error("Failed to read recipe: " + recipeId);
+	}
+
 	public JsonObject toJson(R recipe) {
 		JsonObject jsonObject = new JsonObject();
 		jsonObject.addProperty("type", typeId.toString());
@@ -86,29 +140,46 @@ public class RebornRecipeType<R extends RebornRecipe> implements RecipeType, Rec
 		return read(recipeType, json);
 	}
 
+	@SuppressWarnings("unchecked")
 	R newRecipe(Identifier recipeId) {
-		try {
-			return clazz.getConstructor(RebornRecipeType.class, Identifier.class).newInstance(this, recipeId);
-		} catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+		if (constructor == null) {
 			throw new RuntimeException("Failed to create new recipe class for " + recipeId + " using " + clazz.getName());
 		}
+		try {
+			return (R) constructor.invoke(this, recipeId);
+		} catch (Throwable t) {
+			throw new RuntimeException("Failed to create new recipe class for " + recipeId + " using " + clazz.getName(), t);
+		}
 	}
 
 	@Override
 	public R read(Identifier recipeId, PacketByteBuf buffer) {
-		String input = buffer.readString(buffer.readInt());
-		R r = read(recipeId, SerializationUtil.GSON_FLAT.fromJson(input, JsonObject.class));
+		R r;
+		if (buffer.readBoolean()) {
+			r = newRecipe(recipeId);
+			r.readSync(buffer, RecipeSyncContext.get());
+		} else {
+			String input = buffer.readString(buffer.readInt());
+			r = read(recipeId, SerializationUtil.GSON_FLAT.fromJson(input, JsonObject.class));
+		}
 		r.deserialize(buffer);
 		return r;
 	}
 
 	@Override
 	public void write(PacketByteBuf buffer, Recipe recipe) {
-		JsonObject jsonObject = toJson((R) recipe);
-		String output = SerializationUtil.GSON_FLAT.toJson(jsonObject);
-		buffer.writeInt(output.length());
-		buffer.writeString(output);
-		((R) recipe).serialize(buffer);
+		R rebornRecipe = (R) recipe;
+		boolean writeBinary = binarySync && rebornRecipe.canWriteSync();
+		buffer.writeBoolean(writeBinary);
+		if (writeBinary) {
+			rebornRecipe.writeSync(buffer, RecipeSyncContext.get());
+		} else {
+			JsonObject jsonObject = toJson(rebornRecipe);
+			String output = SerializationUtil.GSON_FLAT.toJson(jsonObject);
+			buffer.writeInt(output.length());
+			buffer.writeString(output);
+		}
+		rebornRecipe.serialize(buffer);
 	}
 
 	public Identifier getName() {
@@ -119,6 +190,14 @@ public class RebornRecipeType<R extends RebornRecipe> implements RecipeType, Rec
 		return RecipeUtils.getRecipes(world, this);
 	}
 
+	public RecipeSnapshot<R> getRecipeSnapshot(World world) {
+		return RecipeUtils.getRecipeSnapshot(world, this);
+	}
+
+	public RecipeIndex<R> getRecipeIndex(World world) {
+		return getRecipeSnapshot(world).getIndex();
+	}
+
 	public Class<R> getRecipeClass() {
 		return clazz;
 	}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting;
+
+import net.minecraft.fluid.Fluid;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import reborncore.common.crafting.ingredient.FluidIngredient;
+import reborncore.common.crafting.ingredient.RebornIngredient;
+import reborncore.common.fluid.container.ItemFluidInfo;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Narrows down the recipes of a {@link RebornRecipeType} to the ones that could match the stacks in a set of slots.
+ * <p>
+ * Each recipe is keyed by the one ingredient that matches the fewest items. A recipe can only be crafted when that
+ * ingredient matches one of the input stacks, so looking up the input stacks gives every recipe that could match.
+ * The candidates still need to be fully checked, and are returned in the same order as the recipe list.
+ */
+public class RecipeIndex<R extends RebornRecipe> {
+
+	private static final int[] NONE = new int[0];
+
+	private final List<R> recipes;
+	private final Map<Item, int[]> itemIndex;
+	private final Map<Fluid, int[]> fluidIndex;
+	//Recipes that have no ingredient that can be indexed, these are always candidates
+	private final int[] unindexed;
+
+	public RecipeIndex(List<R> recipes) {
+		this.recipes = recipes;
+
+		Map<Item, List<Integer>> items = new IdentityHashMap<>();
+		Map<Fluid, List<Integer>> fluids = new IdentityHashMap<>();
+		List<Integer> unindexed = new ArrayList<>();
+
+		for (int i = 0; i < recipes.size(); i++) {
+			RebornIngredient key = null;
+			Collection<Item> keyItems = null;
+			int keySize = Integer.MAX_VALUE;
+
+			for (RebornIngredient ingredient : recipes.get(i).getRebornIngredients()) {
+				if (ingredient instanceof FluidIngredient) {
+					if (keySize > 1) {
+						key = ingredient;
+						keyItems = null;
+						keySize = 1;
+					}
+					continue;
+				}
+				Collection<Item> matchingItems = ingredient.getMatchingItems();
+				if (matchingItems != null && matchingItems.size() < keySize) {
+					key = ingredient;
+					keyItems = matchingItems;
+					keySize = matchingItems.size();
+				}
+			}
+
+			if (key == null) {
+				unindexed.add(i);
+			} else if (keyItems == null) {
+				fluids.computeIfAbsent(((FluidIngredient) key).getFluid(), fluid -> new ArrayList<>()).add(i);
+			} else {
+				for (Item item : keyItems) {
+					List<Integer> ordinals = items.computeIfAbsent(item, it -> new ArrayList<>());
+					//Tags can list the same item more than once
+					if (ordinals.isEmpty() || ordinals.get(ordinals.size() - 1) != i) {
+						ordinals.add(i);
+					}
+				}
+			}
+		}
+
+		this.itemIndex = toArrays(items);
+		this.fluidIndex = toArrays(fluids);
+		this.unindexed = toArray(unindexed);
+	}
+
+	/**
+	 * @param inventory the inventory to look in
+	 * @param slots the slots holding the inputs
+	 * @return the recipes that could be crafted from the stacks in the slots, in recipe order
+	 */
+	public List<R> getCandidates(Inventory inventory, int[] slots) {
+		BitSet candidates = new BitSet(recipes.size());
+		findCandidates(inventory, slots, candidates);
+		List<R> list = new ArrayList<>(candidates.cardinality());
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			list.add(recipes.get(i));
+		}
+		return list;
+	}
+
+	/**
+	 * Marks the recipes that could be crafted from the stacks in the slots, get them with {@link #getRecipe(int)}.
+	 * Reusing the bit set between calls looks the candidates up without allocating.
+	 *
+	 * @param candidates cleared, then set for the index of every candidate
+	 */
+	public void findCandidates(Inventory inventory, int[] slots, BitSet candidates) {
+		candidates.clear();
+		mark(candidates, unindexed);
+		for (int slot : slots) {
+			ItemStack stack = inventory.getInvStack(slot);
+			if (stack.isEmpty()) {
+				continue;
+			}
+			mark(candidates, itemIndex.get(stack.getItem()));
+			if (!fluidIndex.isEmpty() && stack.getItem() instanceof ItemFluidInfo) {
+				mark(candidates, fluidIndex.get(((ItemFluidInfo) stack.getItem()).getFluid(stack)));
+			}
+		}
+	}
+
+	public R getRecipe(int index) {
+		return recipes.get(index);
+	}
+
+	private static void mark(BitSet bitSet, int[] ordinals) {
+		if (ordinals == null) {
+			return;
+		}
+		for (int ordinal : ordinals) {
+			bitSet.set(ordinal);
+		}
+	}
+
+	private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> map) {
+		Map<K, int[]> arrays = new IdentityHashMap<>(map.size());
+		map.forEach((key, ordinals) -> arrays.put(key, toArray(ordinals)));
+		return arrays;
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		if (list.isEmpty()) {
+			return NONE;
+		}
+		return list.stream().mapToInt(Integer::intValue).toArray();
+	}
+}
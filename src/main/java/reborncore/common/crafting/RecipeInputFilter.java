@@ -0,0 +1,127 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting;
+
+import net.minecraft.fluid.Fluid;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import reborncore.common.crafting.ingredient.FluidIngredient;
+import reborncore.common.crafting.ingredient.RebornIngredient;
+import reborncore.common.fluid.container.ItemFluidInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers if a stack can be used as an input for any recipe of a {@link RebornRecipeType}, used to filter slot insertion.
+ * <p>
+ * Most ingredients only care about the item, these are flattened into a single set of items. The few ingredients
+ * that also check the count, nbt or fluid of a stack are kept and tested against the stacks that could match them.
+ */
+public class RecipeInputFilter {
+
+	private static final RebornIngredient[] NONE = new RebornIngredient[0];
+
+	private final Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Map<Item, RebornIngredient[]> itemIngredients;
+	private final Map<Fluid, RebornIngredient[]> fluidIngredients;
+	//Ingredients that cannot be narrowed down by item, these are tested against every stack
+	private final RebornIngredient[] otherIngredients;
+
+	public RecipeInputFilter(List<? extends RebornRecipe> recipes) {
+		Map<Item, List<RebornIngredient>> itemIngredients = new IdentityHashMap<>();
+		Map<Fluid, List<RebornIngredient>> fluidIngredients = new IdentityHashMap<>();
+		List<RebornIngredient> otherIngredients = new ArrayList<>();
+
+		for (RebornRecipe recipe : recipes) {
+			for (RebornIngredient ingredient : recipe.getRebornIngredients()) {
+				if (ingredient instanceof FluidIngredient) {
+					fluidIngredients.computeIfAbsent(((FluidIngredient) ingredient).getFluid(), fluid -> new ArrayList<>()).add(ingredient);
+					continue;
+				}
+				Collection<Item> matchingItems = ingredient.getMatchingItems();
+				if (matchingItems == null) {
+					otherIngredients.add(ingredient);
+				} else if (ingredient.matchesItemsOnly()) {
+					items.addAll(matchingItems);
+				} else {
+					for (Item item : matchingItems) {
+						itemIngredients.computeIfAbsent(item, i -> new ArrayList<>()).add(ingredient);
+					}
+				}
+			}
+		}
+
+		//No need to test the ingredients of items that are always accepted
+		itemIngredients.keySet().removeAll(items);
+
+		this.itemIngredients = toArrays(itemIngredients);
+		this.fluidIngredients = toArrays(fluidIngredients);
+		this.otherIngredients = otherIngredients.toArray(NONE);
+	}
+
+	public boolean accepts(ItemStack stack) {
+		if (stack.isEmpty()) {
+			return false;
+		}
+		Item item = stack.getItem();
+		if (items.contains(item)) {
+			return true;
+		}
+		if (anyMatch(itemIngredients.get(item), stack)) {
+			return true;
+		}
+		if (!fluidIngredients.isEmpty() && item instanceof ItemFluidInfo) {
+			if (anyMatch(fluidIngredients.get(((ItemFluidInfo) item).getFluid(stack)), stack)) {
+				return true;
+			}
+		}
+		return anyMatch(otherIngredients, stack);
+	}
+
+	private static boolean anyMatch(RebornIngredient[] ingredients, ItemStack stack) {
+		if (ingredients == null) {
+			return false;
+		}
+		for (RebornIngredient ingredient : ingredients) {
+			if (ingredient.test(stack)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static <K> Map<K, RebornIngredient[]> toArrays(Map<K, List<RebornIngredient>> map) {
+		Map<K, RebornIngredient[]> arrays = new IdentityHashMap<>(map.size());
+		map.forEach((key, ingredients) -> arrays.put(key, ingredients.toArray(NONE)));
+		return arrays;
+	}
+}
@@ -24,17 +24,14 @@
 
 package reborncore.common.crafting;
 
-import io.netty.buffer.Unpooled;
-import net.minecraft.item.ItemStack;
-import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeSerializer;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.PacketByteBuf;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.world.World;
-import org.apache.commons.lang3.Validate;
-import reborncore.common.crafting.ingredient.RebornIngredient;
+import reborncore.RebornCore;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,63 +64,31 @@ public class RecipeManager {
 		return recipeTypes.values().stream().filter(rebornRecipeType -> rebornRecipeType.getName().getNamespace().equals(namespace)).collect(Collectors.toList());
 	}
 
-	public static void validateRecipes(World world){
-		//recipeTypes.forEach((key, value) -> validate(value, world));
-
-		System.out.println("Validating recipes");
-		world.getRecipeManager().keys().forEach(identifier -> {
-			try {
-				Recipe recipe =  world.getRecipeManager().get(identifier).get();
-				RecipeSerializer recipeSerializer = recipe.getSerializer();
-				PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
-				recipeSerializer.write(buf, recipe);
-
-				Recipe readback = recipeSerializer.read(identifier, buf);
-			} catch (Exception e){
-				throw new RuntimeException("Failed to read " + identifier, e);
-			}
-		});
-		System.out.println("Done");
+	/**
+	 * @return a snapshot of the recipes of every recipe type, sorted by recipe type name
+	 */
+	public static List<RecipeSnapshot<?>> getRecipeSnapshots(World world){
+		List<RecipeSnapshot<?>> snapshots = new ArrayList<>();
+		recipeTypes.values().stream()
+			.sorted(Comparator.comparing(rebornRecipeType -> rebornRecipeType.getName().toString()))
+			.forEach(rebornRecipeType -> snapshots.add(rebornRecipeType.getRecipeSnapshot(world)));
+		return snapshots;
 	}
 
-	private static <R extends RebornRecipe> void validate(RebornRecipeType<R> rebornRecipeType, World world){
-		List<R> recipes = rebornRecipeType.getRecipes(world);
-
-		for(RebornRecipe recipe1 : recipes){
-			for(RebornRecipe recipe2 : recipes){
-				if(recipe1 == recipe2){
-					continue;
-				}
-
-				Validate.isTrue(recipe1.getRebornIngredients().size() > 0, recipe1.getId() + " has no inputs");
-				Validate.isTrue(recipe2.getRebornIngredients().size() > 0, recipe2.getId() + " has no inputs");
-				Validate.isTrue(recipe1.getOutputs().size() > 0, recipe1.getId() + " has no outputs");
-				Validate.isTrue(recipe2.getOutputs().size() > 0, recipe2.getId() + " has no outputs");
-
-				boolean hasAll = true;
-
-				for(RebornIngredient recipe1Input : recipe1.getRebornIngredients()){
-					boolean matches = false;
-					for(ItemStack testStack : recipe1Input.getPreviewStacks()){
-						for(RebornIngredient recipe2Input : recipe2.getRebornIngredients()){
-							if(recipe2Input.test(testStack)){
-								matches = true;
-							}
-						}
-					}
-
-					if(!matches){
-						hasAll = false;
-					}
-				}
-
-				if(hasAll){
-					System.out.println(recipe1.getId() + " conflicts with " + recipe2.getId());
-				}
-
-			}
-		}
+	/**
+	 * Validates the recipes on the current thread and logs the result, see {@link RecipeValidator}
+	 */
+	public static void validateRecipes(World world){
+		createValidationReport(world);
 	}
 
+	/**
+	 * Validates the recipes on the current thread, see {@link RecipeValidator}
+	 *
+	 * @return the report of the validation, also written to the log
+	 */
+	public static RecipeValidator.Report createValidationReport(World world){
+		return new RecipeValidator(getRecipeSnapshots(world), RebornCore.LOGGER::info).run();
+	}
 
 }
@@ -0,0 +1,203 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.recipe.RecipeSerializer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import reborncore.RebornCore;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the Reborn recipes of a datapack reload in parallel, before the recipe manager reads them one at a time.
+ * <p>
+ * The recipe manager still asks each {@link RebornRecipeType} to read its recipes in the usual order, the recipe
+ * types then hand back the recipe that was read ahead of time. Recipe conditions and recipe deserialization must
+ * only read from registries and tags while this happens.
+ */
+public class RecipeReloadPipeline {
+
+	private static final ThreadLocal<RecipeReloadPipeline> CURRENT = new ThreadLocal<>();
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 8)), pool -> {
+		ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+		thread.setName("RebornCore Recipe Loader " + thread.getPoolIndex());
+		thread.setContextClassLoader(RecipeReloadPipeline.class.getClassLoader());
+		return thread;
+	}, null, false);
+
+	private final Map<Identifier, PreparedRecipe<?>> prepared = new HashMap<>();
+
+	/**
+	 * Called before the recipe manager reads the recipes of a reload. Drops the pipeline of a previous reload that
+	 * threw before it could call {@link #end()}, so its recipes are never handed out or kept around.
+	 */
+	public static void begin(Map<Identifier, JsonObject> recipes) {
+		end();
+		RecipeReloadPipeline pipeline = new RecipeReloadPipeline();
+		pipeline.prepare(recipes);
+		CURRENT.set(pipeline);
+	}
+
+	/**
+	 * Called once the recipe manager has read all of the recipes, or failed to
+	 */
+	public static void end() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * @return the recipe read ahead of time for this json, or null if there is not one
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static <R extends RebornRecipe> PreparedRecipe<R> getPrepared(RebornRecipeType<R> type, Identifier recipeId, JsonObject json) {
+		RecipeReloadPipeline pipeline = CURRENT.get();
+		if (pipeline == null) {
+			return null;
+		}
+		//Each recipe is read once per reload, handing it out also stops the pipeline from keeping it alive
+		PreparedRecipe<?> preparedRecipe = pipeline.prepared.remove(recipeId);
+		if (preparedRecipe == null || preparedRecipe.json != json || preparedRecipe.type != type) {
+			return null;
+		}
+		return (PreparedRecipe<R>) preparedRecipe;
+	}
+
+	private void prepare(Map<Identifier, JsonObject> recipes) {
+		long startTime = System.nanoTime();
+
+		List<Callable<PreparedRecipe<?>>> tasks = new ArrayList<>();
+		recipes.forEach((recipeId, json) -> {
+			RebornRecipeType<?> type = getRecipeType(json);
+			if (type != null) {
+				tasks.add(() -> readAhead(type, recipeId, json));
+			}
+		});
+		if (tasks.isEmpty()) {
+			return;
+		}
+
+		//Futures are returned in the same order as the tasks, keeping the report the same between runs
+		Map<RebornRecipeType<?>, long[]> timings = new LinkedHashMap<>();
+		for (Future<PreparedRecipe<?>> future : POOL.invokeAll(tasks)) {
+			PreparedRecipe<?> preparedRecipe;
+			try {
+				preparedRecipe = future.get();
+			} catch (InterruptedException | ExecutionException e) {
+				//Left for the recipe manager to read, and report, on its own
+				continue;
+			}
+			if (preparedRecipe == null) {
+				continue;
+			}
+			prepared.put(preparedRecipe.recipe.getId(), preparedRecipe);
+
+			long[] timing = timings.computeIfAbsent(preparedRecipe.type, t -> new long[2]);
+			timing[0]++;
+			timing[1] += preparedRecipe.nanos;
+		}
+
+		RebornCore.LOGGER.info(String.format("Read %d reborn recipes in %.1fms using %d threads", prepared.size(), (System.nanoTime() - startTime) / 1_000_000D, POOL.getParallelism()));
+		timings.forEach((type, timing) -> RebornCore.LOGGER.info(String.format("  %s: %d recipes, %.1fms", type.getName(), timing[0], timing[1] / 1_000_000D)));
+	}
+
+	@Nullable
+	private static <R extends RebornRecipe> PreparedRecipe<R> readAhead(RebornRecipeType<R> type, Identifier recipeId, JsonObject json) {
+		long startTime = System.nanoTime();
+		R recipe;
+		try {
+			recipe = type.createRecipe(recipeId, json);
+		} catch (Throwable t) {
+			//Left for the recipe manager to read, so it can throw on the reload thread
+			return null;
+		}
+		Throwable error = null;
+		try {
+			type.readRecipe(recipe, json);
+		} catch (Throwable t) {
+			error = t;
+		}
+		return new PreparedRecipe<>(type, json, recipe, error, System.nanoTime() - startTime);
+	}
+
+	@Nullable
+	private static RebornRecipeType<?> getRecipeType(JsonObject json) {
+		JsonElement typeElement = json.get("type");
+		if (typeElement == null || !typeElement.isJsonPrimitive()) {
+			return null;
+		}
+		RecipeSerializer<?> serializer;
+		try {
+			serializer = Registry.RECIPE_SERIALIZER.get(new Identifier(typeElement.getAsString()));
+		} catch (RuntimeException e) {
+			return null;
+		}
+		if (serializer instanceof RebornRecipeType) {
+			return (RebornRecipeType<?>) serializer;
+		}
+		return null;
+	}
+
+	static class PreparedRecipe<R extends RebornRecipe> {
+		private final RebornRecipeType<R> type;
+		private final JsonObject json;
+		private final R recipe;
+		@Nullable
+		private final Throwable error;
+		private final long nanos;
+
+		PreparedRecipe(RebornRecipeType<R> type, JsonObject json, R recipe, @Nullable Throwable error, long nanos) {
+			this.type = type;
+			this.json = json;
+			this.recipe = recipe;
+			this.error = error;
+			this.nanos = nanos;
+		}
+
+		R getRecipe() {
+			return recipe;
+		}
+
+		@Nullable
+		Throwable getError() {
+			return error;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting;
+
+import net.minecraft.util.Lazy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An immutable view of the recipes of a {@link RebornRecipeType} held by a recipe manager.
+ * <p>
+ * A new snapshot is made the first time the recipes are requested after a reload, until then the same snapshot is
+ * returned. Snapshots are safe to keep hold of, compare {@link #getEpoch()} against
+ * {@link RecipeUtils#getReloadEpoch(net.minecraft.world.World)} to check if the recipes have been reloaded since.
+ */
+public final class RecipeSnapshot<R extends RebornRecipe> {
+
+	private static final AtomicLong EPOCH = new AtomicLong();
+
+	private final RebornRecipeType<R> type;
+	private final long epoch;
+	private final RebornRecipe[] recipes;
+	private final List<R> recipeList;
+
+	private final Lazy<RecipeIndex<R>> index;
+	private final Lazy<RecipeInputFilter> inputFilter;
+
+	@SuppressWarnings("unchecked")
+	public RecipeSnapshot(RebornRecipeType<R> type, long epoch, RebornRecipe[] recipes) {
+		this.type = type;
+		this.epoch = epoch;
+		this.recipes = recipes;
+		this.recipeList = Collections.unmodifiableList(Arrays.asList((R[]) recipes));
+		this.index = new Lazy<>(() -> new RecipeIndex<>(recipeList));
+		this.inputFilter = new Lazy<>(() -> new RecipeInputFilter(recipeList));
+	}
+
+	/**
+	 * @return a new epoch, unique across all recipe managers
+	 */
+	public static long nextEpoch() {
+		return EPOCH.incrementAndGet();
+	}
+
+	public RebornRecipeType<R> getType() {
+		return type;
+	}
+
+	public long getEpoch() {
+		return epoch;
+	}
+
+	public int size() {
+		return recipes.length;
+	}
+
+	@SuppressWarnings("unchecked")
+	public R get(int index) {
+		return (R) recipes[index];
+	}
+
+	/**
+	 * @return an unmodifiable list backed by this snapshot
+	 */
+	public List<R> getRecipes() {
+		return recipeList;
+	}
+
+	public RecipeIndex<R> getIndex() {
+		return index.get();
+	}
+
+	public RecipeInputFilter getInputFilter() {
+		return inputFilter.get();
+	}
+}
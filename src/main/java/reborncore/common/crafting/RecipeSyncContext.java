@@ -0,0 +1,172 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tag.Tag;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.PacketByteBuf;
+import net.minecraft.util.registry.Registry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared state for the binary recipe sync codec.
+ * <p>
+ * While a recipe sync packet is being written or read a single context is used for every recipe in it, so strings
+ * such as identifiers and the contents of tags are only sent once per packet. Outside of a packet each recipe gets its own context, the
+ * reading side must then also read the recipe on its own.
+ */
+public class RecipeSyncContext {
+
+	private static final ThreadLocal<RecipeSyncContext> CURRENT = new ThreadLocal<>();
+
+	private final Map<String, Integer> writtenStrings = new HashMap<>();
+	private final List<String> readStrings = new ArrayList<>();
+
+	private final Map<Tag<Item>, Integer> writtenTags = new IdentityHashMap<>();
+	private final List<Tag<Item>> readTags = new ArrayList<>();
+
+	/**
+	 * Called when a recipe sync packet starts to be written or read
+	 */
+	public static void begin() {
+		CURRENT.set(new RecipeSyncContext());
+	}
+
+	/**
+	 * Called when a recipe sync packet has been written or read
+	 */
+	public static void end() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * @return the context of the packet being written or read, or a new context if there is none
+	 */
+	public static RecipeSyncContext get() {
+		RecipeSyncContext context = CURRENT.get();
+		if (context == null) {
+			return new RecipeSyncContext();
+		}
+		return context;
+	}
+
+	/**
+	 * Strings are written as an index into the strings sent so far, 0 means the string itself follows
+	 */
+	public void writeString(PacketByteBuf buf, String string) {
+		Integer index = writtenStrings.get(string);
+		if (index != null) {
+			buf.writeVarInt(index + 1);
+			return;
+		}
+		writtenStrings.put(string, writtenStrings.size());
+		buf.writeVarInt(0);
+		buf.writeString(string);
+	}
+
+	public String readString(PacketByteBuf buf) {
+		int index = buf.readVarInt();
+		if (index != 0) {
+			return readStrings.get(index - 1);
+		}
+		String string = buf.readString();
+		readStrings.add(string);
+		return string;
+	}
+
+	public void writeIdentifier(PacketByteBuf buf, Identifier identifier) {
+		writeString(buf, identifier.toString());
+	}
+
+	public Identifier readIdentifier(PacketByteBuf buf) {
+		return new Identifier(readString(buf));
+	}
+
+	/**
+	 * Tags are not synced to the client before the recipes, so the items in the tag are sent the first time it is
+	 * used in a packet. After that the tag is sent as an index into the tags sent so far, 0 means the tag follows.
+	 */
+	public void writeTag(PacketByteBuf buf, Tag<Item> tag, Item[] items) {
+		Integer index = writtenTags.get(tag);
+		if (index != null) {
+			buf.writeVarInt(index + 1);
+			return;
+		}
+		writtenTags.put(tag, writtenTags.size());
+		buf.writeVarInt(0);
+		writeIdentifier(buf, tag.getId());
+		buf.writeVarInt(items.length);
+		for (Item item : items) {
+			writeItem(buf, item);
+		}
+	}
+
+	public Tag<Item> readTag(PacketByteBuf buf) {
+		int index = buf.readVarInt();
+		if (index != 0) {
+			return readTags.get(index - 1);
+		}
+		Identifier identifier = readIdentifier(buf);
+		Tag.Builder<Item> tagBuilder = Tag.Builder.create();
+		int size = buf.readVarInt();
+		for (int i = 0; i < size; i++) {
+			tagBuilder.add(readItem(buf));
+		}
+		Tag<Item> tag = tagBuilder.build(identifier);
+		readTags.add(tag);
+		return tag;
+	}
+
+	public void writeItem(PacketByteBuf buf, Item item) {
+		buf.writeVarInt(Registry.ITEM.getRawId(item));
+	}
+
+	public Item readItem(PacketByteBuf buf) {
+		return Registry.ITEM.get(buf.readVarInt());
+	}
+
+	/**
+	 * Unlike {@link PacketByteBuf#writeItemStack(ItemStack)} the count is not limited to a byte
+	 */
+	public void writeStack(PacketByteBuf buf, ItemStack stack) {
+		writeItem(buf, stack.getItem());
+		buf.writeVarInt(stack.getCount());
+		buf.writeCompoundTag(stack.getTag());
+	}
+
+	public ItemStack readStack(PacketByteBuf buf) {
+		ItemStack stack = new ItemStack(readItem(buf), buf.readVarInt());
+		stack.setTag(buf.readCompoundTag());
+		return stack;
+	}
+}
@@ -42,15 +42,28 @@ import reborncore.common.util.DefaultedListCollector;
 import reborncore.common.util.serialization.SerializationUtil;
 import reborncore.mixin.extensions.RecipeManagerExtensions;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class RecipeUtils {
+	/**
+	 * @return an unmodifiable list of the recipes, this is not copied so is cheap to call
+	 */
 	@SuppressWarnings("unchecked")
 	public static <T extends RebornRecipe> List<T> getRecipes(World world, RebornRecipeType<?> type){
-		RecipeManagerExtensions recipeManagerExtensions = (RecipeManagerExtensions) world.getRecipeManager();
 		//noinspection unchecked
-		return new ArrayList<>(recipeManagerExtensions.getAll(type).values());
+		return (List<T>) getRecipeSnapshot(world, type).getRecipes();
+	}
+
+	public static <T extends RebornRecipe> RecipeSnapshot<T> getRecipeSnapshot(World world, RebornRecipeType<T> type){
+		RecipeManagerExtensions recipeManagerExtensions = (RecipeManagerExtensions) world.getRecipeManager();
+		return recipeManagerExtensions.getRecipeSnapshot(type);
+	}
+
+	/**
+	 * @return the epoch of the last recipe reload for the world's recipe manager
+	 */
+	public static long getReloadEpoch(World world){
+		return ((RecipeManagerExtensions) world.getRecipeManager()).getReloadEpoch();
 	}
 
 	public static DefaultedList<ItemStack> deserializeItems(JsonElement jsonObject){
@@ -0,0 +1,193 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.PacketByteBuf;
+import reborncore.common.crafting.ingredient.RebornIngredient;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Checks recipe snapshots for broken recipes and for recipes that conflict with each other.
+ * <p>
+ * A recipe conflicts with another when every one of its ingredients has a preview stack that the other recipe also
+ * accepts, so the other recipe may be crafted in its place. Recipes are only compared with the recipes that accept
+ * at least one of their preview stacks, found through an index of the items each ingredient accepts.
+ * <p>
+ * Snapshots are immutable so this can be run away from the server thread.
+ */
+public class RecipeValidator {
+
+	private final List<RecipeSnapshot<?>> snapshots;
+	private final Consumer<String> progress;
+
+	public RecipeValidator(List<RecipeSnapshot<?>> snapshots, Consumer<String> progress) {
+		this.snapshots = snapshots;
+		this.progress = progress;
+	}
+
+	public Report run() {
+		Report report = new Report();
+		for (RecipeSnapshot<?> snapshot : snapshots) {
+			int problems = report.problems.size();
+			validate(snapshot, report);
+			report.recipes += snapshot.size();
+			progress.accept(String.format("Validated %d %s recipes, %d problems", snapshot.size(), snapshot.getType().getName(), report.problems.size() - problems));
+		}
+		return report;
+	}
+
+	private <R extends RebornRecipe> void validate(RecipeSnapshot<R> snapshot, Report report) {
+		List<R> recipes = snapshot.getRecipes();
+
+		for (R recipe : recipes) {
+			if (recipe.isDummy()) {
+				continue;
+			}
+			if (recipe.getRebornIngredients().isEmpty()) {
+				report.problem(recipe.getId() + " has no inputs");
+			}
+			if (recipe.getOutputs().isEmpty()) {
+				report.problem(recipe.getId() + " has no outputs");
+			}
+			validateSync(snapshot.getType(), recipe, report);
+		}
+
+		Map<Item, BitSet> index = buildIndex(recipes);
+		for (int i = 0; i < recipes.size(); i++) {
+			R recipe = recipes.get(i);
+			if (recipe.isDummy() || recipe.getRebornIngredients().isEmpty()) {
+				continue;
+			}
+
+			//Any conflicting recipe has to accept a preview stack of the ingredient with the fewest previews
+			RebornIngredient narrowest = recipe.getRebornIngredients().stream()
+				.min((a, b) -> Integer.compare(a.getPreviewStacks().size(), b.getPreviewStacks().size()))
+				.get();
+			BitSet candidates = new BitSet(recipes.size());
+			for (ItemStack stack : narrowest.getPreviewStacks()) {
+				BitSet recipesForItem = index.get(stack.getItem());
+				if (recipesForItem != null) {
+					candidates.or(recipesForItem);
+				}
+			}
+			candidates.clear(i);
+
+			for (int j = candidates.nextSetBit(0); j >= 0; j = candidates.nextSetBit(j + 1)) {
+				R other = recipes.get(j);
+				if (!other.isDummy() && conflicts(recipe, other)) {
+					report.problem(recipe.getId() + " conflicts with " + other.getId());
+				}
+			}
+		}
+	}
+
+	private static <R extends RebornRecipe> void validateSync(RebornRecipeType<R> type, R recipe, Report report) {
+		try {
+			PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+			type.write(buf, recipe);
+			type.read(recipe.getId(), buf);
+		} catch (Exception e) {
+			report.problem(recipe.getId() + " failed to sync: " + e);
+		}
+	}
+
+	//Maps each item to the recipes that have an ingredient accepting it
+	private static Map<Item, BitSet> buildIndex(List<? extends RebornRecipe> recipes) {
+		Map<Item, BitSet> index = new IdentityHashMap<>();
+		for (int i = 0; i < recipes.size(); i++) {
+			for (RebornIngredient ingredient : recipes.get(i).getRebornIngredients()) {
+				Collection<Item> items = ingredient.getMatchingItems();
+				if (items == null) {
+					items = ingredient.getPreviewStacks().stream().map(ItemStack::getItem).collect(Collectors.toList());
+				}
+				for (Item item : items) {
+					index.computeIfAbsent(item, it -> new BitSet(recipes.size())).set(i);
+				}
+			}
+		}
+		return index;
+	}
+
+	private static boolean conflicts(RebornRecipe recipe, RebornRecipe other) {
+		for (RebornIngredient ingredient : recipe.getRebornIngredients()) {
+			if (!anyAccepted(ingredient.getPreviewStacks(), other)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean anyAccepted(List<ItemStack> stacks, RebornRecipe recipe) {
+		for (ItemStack stack : stacks) {
+			for (RebornIngredient ingredient : recipe.getRebornIngredients()) {
+				if (ingredient.test(stack)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public static class Report {
+		private final List<String> problems = new ArrayList<>();
+		private int recipes;
+
+		private void problem(String problem) {
+			problems.add(problem);
+		}
+
+		public List<String> getProblems() {
+			return problems;
+		}
+
+		public int getRecipeCount() {
+			return recipes;
+		}
+
+		public void write(File file) throws IOException {
+			file.getParentFile().mkdirs();
+			List<String> lines = new ArrayList<>();
+			lines.add(String.format("Validated %d recipes, found %d problems", recipes, problems.size()));
+			lines.addAll(problems);
+			Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+		}
+	}
+}
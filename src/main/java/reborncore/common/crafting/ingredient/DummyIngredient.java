@@ -25,17 +25,20 @@
 package reborncore.common.crafting.ingredient;
 
 import com.google.gson.JsonObject;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.Ingredient;
-import net.minecraft.util.Identifier;
+import net.minecraft.util.PacketByteBuf;
+import reborncore.common.crafting.RecipeSyncContext;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 public class DummyIngredient extends RebornIngredient {
 
 	public DummyIngredient() {
-		super(new Identifier("reborncore", "dummy"));
+		super(IngredientManager.DUMMY_RECIPE_TYPE);
 	}
 
 	@Override
@@ -58,6 +61,26 @@ public class DummyIngredient extends RebornIngredient {
 		return new JsonObject();
 	}
 
+	@Override
+	public Collection<Item> getMatchingItems() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean matchesItemsOnly() {
+		return true;
+	}
+
+	@Override
+	public boolean canWrite() {
+		return true;
+	}
+
+	@Override
+	public void write(PacketByteBuf buf, RecipeSyncContext context) {
+
+	}
+
 	@Override
 	public int getCount() {
 		return 0;
@@ -37,7 +37,9 @@ import net.minecraft.recipe.Ingredient;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.JsonHelper;
 import net.minecraft.util.Lazy;
+import net.minecraft.util.PacketByteBuf;
 import net.minecraft.util.registry.Registry;
+import reborncore.common.crafting.RecipeSyncContext;
 import reborncore.common.fluid.container.ItemFluidInfo;
 
 import java.util.ArrayList;
@@ -112,6 +114,24 @@ public class FluidIngredient extends RebornIngredient {
 		return new FluidIngredient(fluid, holders, count);
 	}
 
+	public static RebornIngredient read(PacketByteBuf buf, RecipeSyncContext context) {
+		Fluid fluid = Registry.FLUID.get(context.readIdentifier(buf));
+
+		Optional<List<Item>> holders = Optional.empty();
+		if(buf.readBoolean()){
+			int size = buf.readVarInt();
+			List<Item> itemList = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				itemList.add(context.readItem(buf));
+			}
+			holders = Optional.of(itemList);
+		}
+
+		Optional<Integer> count = buf.readBoolean() ? Optional.of(buf.readVarInt()) : Optional.empty();
+
+		return new FluidIngredient(fluid, holders, count);
+	}
+
 	@Override
 	public boolean test(ItemStack itemStack) {
 		if(holders.isPresent() && holders.get().stream().noneMatch(item -> itemStack.getItem() == item)){
@@ -154,6 +174,31 @@ public class FluidIngredient extends RebornIngredient {
 		return jsonObject;
 	}
 
+	@Override
+	public boolean canWrite() {
+		return true;
+	}
+
+	@Override
+	public void write(PacketByteBuf buf, RecipeSyncContext context) {
+		context.writeIdentifier(buf, Registry.FLUID.getId(fluid));
+
+		buf.writeBoolean(holders.isPresent());
+		if(holders.isPresent()){
+			buf.writeVarInt(holders.get().size());
+			for (Item item : holders.get()) {
+				context.writeItem(buf, item);
+			}
+		}
+
+		buf.writeBoolean(count.isPresent());
+		count.ifPresent(buf::writeVarInt);
+	}
+
+	public Fluid getFluid() {
+		return fluid;
+	}
+
 	@Override
 	public int getCount() {
 		return count.orElse(1);
@@ -29,9 +29,12 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.JsonHelper;
+import net.minecraft.util.PacketByteBuf;
+import reborncore.common.crafting.RecipeSyncContext;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 public class IngredientManager {
@@ -40,14 +43,22 @@ public class IngredientManager {
 	public static final Identifier FLUID_RECIPE_TYPE = new Identifier("reborncore", "fluid");
 	public static final Identifier TAG_RECIPE_TYPE = new Identifier("reborncore", "tag");
 	public static final Identifier WRAPPED_RECIPE_TYPE = new Identifier("reborncore", "wrapped");
+	public static final Identifier DUMMY_RECIPE_TYPE = new Identifier("reborncore", "dummy");
 
 	private static final HashMap<Identifier, Function<JsonObject, RebornIngredient>> recipeTypes = new HashMap<>();
+	private static final HashMap<Identifier, BiFunction<PacketByteBuf, RecipeSyncContext, RebornIngredient>> packetReaders = new HashMap<>();
 
 	public static void setup(){
 		recipeTypes.put(STACK_RECIPE_TYPE, StackIngredient::deserialize);
 		recipeTypes.put(FLUID_RECIPE_TYPE, FluidIngredient::deserialize);
 		recipeTypes.put(TAG_RECIPE_TYPE, TagIngredient::deserialize);
 		recipeTypes.put(WRAPPED_RECIPE_TYPE, WrappedIngredient::deserialize);
+
+		packetReaders.put(STACK_RECIPE_TYPE, StackIngredient::read);
+		packetReaders.put(FLUID_RECIPE_TYPE, FluidIngredient::read);
+		packetReaders.put(TAG_RECIPE_TYPE, TagIngredient::read);
+		packetReaders.put(WRAPPED_RECIPE_TYPE, WrappedIngredient::read);
+		packetReaders.put(DUMMY_RECIPE_TYPE, (buf, context) -> new DummyIngredient());
 	}
 
 	public static RebornIngredient deserialize(@Nullable JsonElement jsonElement) {
@@ -78,4 +89,18 @@ public class IngredientManager {
 		return recipeTypeFunction.apply(json);
 	}
 
+	public static void write(PacketByteBuf buf, RecipeSyncContext context, RebornIngredient ingredient) {
+		context.writeIdentifier(buf, ingredient.getIngredientType());
+		ingredient.write(buf, context);
+	}
+
+	public static RebornIngredient read(PacketByteBuf buf, RecipeSyncContext context) {
+		Identifier ingredientType = context.readIdentifier(buf);
+		BiFunction<PacketByteBuf, RecipeSyncContext, RebornIngredient> reader = packetReaders.get(ingredientType);
+		if(reader == null) {
+			throw new IllegalStateException("No packet reader found for " + ingredientType);
+		}
+		return reader.apply(buf, context);
+	}
+
 }
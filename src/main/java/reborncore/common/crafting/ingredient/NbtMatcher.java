@@ -0,0 +1,271 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting.ingredient;
+
+import net.minecraft.nbt.AbstractNumberTag;
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.FloatTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.LongTag;
+import net.minecraft.nbt.ShortTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Compares a tag against an expected tag, built once from the expected tag.
+ * <p>
+ * Tags read from json use the smallest type that can hold each number, so numbers are compared by value regardless
+ * of their type. Byte, int and long arrays are treated the same as lists of numbers. This gives the same result as
+ * converting the tag to json and back before comparing it, without the allocations.
+ */
+public abstract class NbtMatcher {
+
+	public static NbtMatcher compile(Tag tag) {
+		if (tag instanceof CompoundTag) {
+			return new CompoundMatcher((CompoundTag) tag);
+		}
+		if (tag instanceof AbstractNumberTag) {
+			return new NumberMatcher((AbstractNumberTag) tag);
+		}
+		if (tag instanceof StringTag) {
+			return new StringMatcher(tag.asString());
+		}
+		if (tag instanceof ByteArrayTag) {
+			byte[] bytes = ((ByteArrayTag) tag).getByteArray();
+			NbtMatcher[] elements = new NbtMatcher[bytes.length];
+			for (int i = 0; i < bytes.length; i++) {
+				elements[i] = new NumberMatcher(bytes[i]);
+			}
+			return new ListMatcher(elements);
+		}
+		if (tag instanceof IntArrayTag) {
+			int[] ints = ((IntArrayTag) tag).getIntArray();
+			NbtMatcher[] elements = new NbtMatcher[ints.length];
+			for (int i = 0; i < ints.length; i++) {
+				elements[i] = new NumberMatcher(ints[i]);
+			}
+			return new ListMatcher(elements);
+		}
+		if (tag instanceof LongArrayTag) {
+			long[] longs = ((LongArrayTag) tag).getLongArray();
+			NbtMatcher[] elements = new NbtMatcher[longs.length];
+			for (int i = 0; i < longs.length; i++) {
+				elements[i] = new NumberMatcher(longs[i]);
+			}
+			return new ListMatcher(elements);
+		}
+		if (tag instanceof ListTag) {
+			ListTag listTag = (ListTag) tag;
+			NbtMatcher[] elements = new NbtMatcher[listTag.size()];
+			for (int i = 0; i < listTag.size(); i++) {
+				elements[i] = compile(listTag.get(i));
+			}
+			return new ListMatcher(elements);
+		}
+		throw new IllegalArgumentException("Cannot match against tag type " + tag.getType());
+	}
+
+	public abstract boolean matches(@Nullable Tag tag);
+
+	boolean matchesLong(long value) {
+		return false;
+	}
+
+	private static class CompoundMatcher extends NbtMatcher {
+		private final String[] keys;
+		private final NbtMatcher[] values;
+
+		CompoundMatcher(CompoundTag tag) {
+			Set<String> keySet = tag.getKeys();
+			keys = keySet.toArray(new String[0]);
+			values = new NbtMatcher[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				values[i] = compile(tag.get(keys[i]));
+			}
+		}
+
+		@Override
+		public boolean matches(@Nullable Tag tag) {
+			if (!(tag instanceof CompoundTag)) {
+				return false;
+			}
+			CompoundTag compoundTag = (CompoundTag) tag;
+			if (compoundTag.getSize() != keys.length) {
+				return false;
+			}
+			for (int i = 0; i < keys.length; i++) {
+				if (!values[i].matches(compoundTag.get(keys[i]))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static class NumberMatcher extends NbtMatcher {
+		private final boolean integral;
+		private final long longValue;
+		private final double doubleValue;
+
+		NumberMatcher(long value) {
+			integral = true;
+			longValue = value;
+			doubleValue = value;
+		}
+
+		NumberMatcher(AbstractNumberTag tag) {
+			//Same conversion as json uses, whole numbers are always integral
+			BigDecimal value = new BigDecimal(tag.getNumber().toString());
+			boolean isIntegral;
+			long exact = 0;
+			try {
+				exact = value.longValueExact();
+				isIntegral = true;
+			} catch (ArithmeticException e) {
+				isIntegral = false;
+			}
+			integral = isIntegral;
+			longValue = exact;
+			doubleValue = isIntegral ? exact : value.doubleValue();
+		}
+
+		@Override
+		public boolean matches(@Nullable Tag tag) {
+			if (tag instanceof ByteTag || tag instanceof ShortTag || tag instanceof IntTag || tag instanceof LongTag) {
+				return matchesLong(((AbstractNumberTag) tag).getLong());
+			}
+			if (tag instanceof FloatTag) {
+				float value = ((FloatTag) tag).getFloat();
+				if (isWhole(value)) {
+					return matchesLong((long) value);
+				}
+				//Compared at float precision, as the float is written to json using its shortest representation
+				return !integral && (float) doubleValue == value;
+			}
+			if (tag instanceof DoubleTag) {
+				double value = ((DoubleTag) tag).getDouble();
+				if (isWhole(value)) {
+					return matchesLong((long) value);
+				}
+				return !integral && doubleValue == value;
+			}
+			return false;
+		}
+
+		@Override
+		boolean matchesLong(long value) {
+			return integral && longValue == value;
+		}
+
+		private static boolean isWhole(double value) {
+			return value == Math.rint(value) && Math.abs(value) < 0x1p63;
+		}
+	}
+
+	private static class StringMatcher extends NbtMatcher {
+		private final String value;
+
+		StringMatcher(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean matches(@Nullable Tag tag) {
+			return tag instanceof StringTag && value.equals(tag.asString());
+		}
+	}
+
+	private static class ListMatcher extends NbtMatcher {
+		private final NbtMatcher[] elements;
+
+		ListMatcher(NbtMatcher[] elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public boolean matches(@Nullable Tag tag) {
+			if (tag instanceof ByteArrayTag) {
+				byte[] bytes = ((ByteArrayTag) tag).getByteArray();
+				if (bytes.length != elements.length) {
+					return false;
+				}
+				for (int i = 0; i < bytes.length; i++) {
+					if (!elements[i].matchesLong(bytes[i])) {
+						return false;
+					}
+				}
+				return true;
+			}
+			if (tag instanceof IntArrayTag) {
+				int[] ints = ((IntArrayTag) tag).getIntArray();
+				if (ints.length != elements.length) {
+					return false;
+				}
+				for (int i = 0; i < ints.length; i++) {
+					if (!elements[i].matchesLong(ints[i])) {
+						return false;
+					}
+				}
+				return true;
+			}
+			if (tag instanceof LongArrayTag) {
+				long[] longs = ((LongArrayTag) tag).getLongArray();
+				if (longs.length != elements.length) {
+					return false;
+				}
+				for (int i = 0; i < longs.length; i++) {
+					if (!elements[i].matchesLong(longs[i])) {
+						return false;
+					}
+				}
+				return true;
+			}
+			if (tag instanceof ListTag) {
+				ListTag listTag = (ListTag) tag;
+				if (listTag.size() != elements.length) {
+					return false;
+				}
+				for (int i = 0; i < elements.length; i++) {
+					if (!elements[i].matches(listTag.get(i))) {
+						return false;
+					}
+				}
+				return true;
+			}
+			return false;
+		}
+	}
+}
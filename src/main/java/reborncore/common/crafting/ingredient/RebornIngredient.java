@@ -25,10 +25,15 @@
 package reborncore.common.crafting.ingredient;
 
 import com.google.gson.JsonObject;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.Ingredient;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.PacketByteBuf;
+import reborncore.common.crafting.RecipeSyncContext;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -52,6 +57,45 @@ public abstract class RebornIngredient implements Predicate<ItemStack> {
 
 	public abstract int getCount();
 
+	public Identifier getIngredientType() {
+		return ingredientType;
+	}
+
+	/**
+	 * @return true if this ingredient can be synced with {@link #write(PacketByteBuf, RecipeSyncContext)}, recipes
+	 * with ingredients that cannot are synced as json
+	 */
+	public boolean canWrite() {
+		return false;
+	}
+
+	/**
+	 * Writes this ingredient for the binary recipe sync, it is read back by the reader registered in
+	 * {@link IngredientManager} for the ingredient type.
+	 */
+	public void write(PacketByteBuf buf, RecipeSyncContext context) {
+		throw new UnsupportedOperationException(ingredientType + " cannot be written to a packet");
+	}
+
+	/**
+	 * Used by {@link reborncore.common.crafting.RecipeIndex} to find the recipes that an input stack could match.
+	 *
+	 * @return every item that a non empty stack passing {@link #test(ItemStack)} can have, or null if this is not known
+	 * ahead of time or the ingredient can match an empty stack
+	 */
+	@Nullable
+	public Collection<Item> getMatchingItems() {
+		return null;
+	}
+
+	/**
+	 * @return true if any non empty stack of one of the {@link #getMatchingItems()} passes {@link #test(ItemStack)},
+	 * false if the count or nbt of the stack also needs to be checked
+	 */
+	public boolean matchesItemsOnly() {
+		return false;
+	}
+
 	//Same as above but adds the type
 	public final JsonObject witeToJson(){
 		JsonObject jsonObject = toJson();
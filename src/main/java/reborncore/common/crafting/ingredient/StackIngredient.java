@@ -24,7 +24,6 @@
 
 package reborncore.common.crafting.ingredient;
 
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import com.mojang.datafixers.Dynamic;
@@ -36,9 +35,12 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.recipe.Ingredient;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.JsonHelper;
+import net.minecraft.util.PacketByteBuf;
 import net.minecraft.util.registry.Registry;
 import org.apache.commons.lang3.Validate;
+import reborncore.common.crafting.RecipeSyncContext;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +52,7 @@ public class StackIngredient extends RebornIngredient {
 
 	private final Optional<Integer> count;
 	private final Optional<CompoundTag> tag;
+	private final Optional<NbtMatcher> tagMatcher;
 	private final boolean requireEmptyTag;
 
 	public StackIngredient(List<ItemStack> stacks, Optional<Integer> count, Optional<CompoundTag> tag, boolean requireEmptyTag) {
@@ -57,6 +60,7 @@ public class StackIngredient extends RebornIngredient {
 		this.stacks = stacks;
 		this.count = count;
 		this.tag = tag;
+		this.tagMatcher = tag.map(NbtMatcher::compile);
 		this.requireEmptyTag = requireEmptyTag;
 		Validate.isTrue(stacks.size() == 1, "stack size must 1");
 	}
@@ -89,31 +93,33 @@ public class StackIngredient extends RebornIngredient {
 		return new StackIngredient(Collections.singletonList(new ItemStack(item)), stackSize, tag, requireEmptyTag);
 	}
 
+	public static RebornIngredient read(PacketByteBuf buf, RecipeSyncContext context) {
+		Item item = context.readItem(buf);
+		Optional<Integer> stackSize = buf.readBoolean() ? Optional.of(buf.readVarInt()) : Optional.empty();
+		boolean requireEmptyTag = buf.readBoolean();
+		Optional<CompoundTag> tag = Optional.ofNullable(buf.readCompoundTag());
+		return new StackIngredient(Collections.singletonList(new ItemStack(item)), stackSize, tag, requireEmptyTag);
+	}
 
 	@Override
 	public boolean test(ItemStack itemStack) {
 		if(itemStack.isEmpty()){
 			return false;
 		}
-		if(stacks.stream().noneMatch(recipeStack -> recipeStack.getItem() == itemStack.getItem())){
+		if(!hasItem(itemStack.getItem())){
 			return false;
 		}
 		if(count.isPresent() && count.get() > itemStack.getCount()){
 			return false;
 		}
-		if(tag.isPresent()){
+		if(tagMatcher.isPresent()){
 			if(!itemStack.hasTag()){
 				return false;
 			}
 
-			//Bit of a meme here, as DataFixer likes to use the most basic primative type over using an int.
-			//So we have to go to json and back on the incoming stack to be sure its using types that match our input.
-
-			CompoundTag compoundTag = itemStack.getTag();
-			JsonElement jsonElement = Dynamic.convert(NbtOps.INSTANCE, JsonOps.INSTANCE, compoundTag);
-			compoundTag = (CompoundTag) Dynamic.convert(JsonOps.INSTANCE, NbtOps.INSTANCE, jsonElement);
-
-			if(!tag.get().equals(compoundTag)){
+			//DataFixer uses the most basic primitive type for numbers read from json, the matcher compares numbers
+			//by value so the incoming stack's tag types do not need to match our input.
+			if(!tagMatcher.get().matches(itemStack.getTag())){
 				return false;
 			}
 		}
@@ -123,6 +129,16 @@ public class StackIngredient extends RebornIngredient {
 		return true;
 	}
 
+	private boolean hasItem(Item item) {
+		//Indexed so testing a stack does not create an iterator
+		for (int i = 0; i < stacks.size(); i++) {
+			if (stacks.get(i).getItem() == item) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public Ingredient getPreview() {
 		return Ingredient.ofStacks(stacks.toArray(new ItemStack[0]));
@@ -154,6 +170,30 @@ public class StackIngredient extends RebornIngredient {
 		return jsonObject;
 	}
 
+	@Override
+	public Collection<Item> getMatchingItems() {
+		return stacks.stream().map(ItemStack::getItem).collect(Collectors.toList());
+	}
+
+	@Override
+	public boolean matchesItemsOnly() {
+		return count.orElse(1) <= 1 && !tag.isPresent() && !requireEmptyTag;
+	}
+
+	@Override
+	public boolean canWrite() {
+		return true;
+	}
+
+	@Override
+	public void write(PacketByteBuf buf, RecipeSyncContext context) {
+		context.writeItem(buf, stacks.get(0).getItem());
+		buf.writeBoolean(count.isPresent());
+		count.ifPresent(buf::writeVarInt);
+		buf.writeBoolean(requireEmptyTag);
+		buf.writeCompoundTag(tag.orElse(null));
+	}
+
 	@Override
 	public int getCount() {
 		return count.orElse(1);
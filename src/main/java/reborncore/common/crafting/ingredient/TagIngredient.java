@@ -34,11 +34,18 @@ import net.minecraft.tag.ItemTags;
 import net.minecraft.tag.Tag;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.JsonHelper;
+import net.minecraft.util.PacketByteBuf;
 import net.minecraft.util.registry.Registry;
 import org.apache.commons.lang3.Validate;
+import reborncore.common.crafting.RecipeSyncContext;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class TagIngredient extends RebornIngredient {
@@ -47,6 +54,8 @@ public class TagIngredient extends RebornIngredient {
 	private final Tag<Item> tag;
 	private final Optional<Integer> count;
 
+	private volatile TagContents contents;
+
 	public TagIngredient(Identifier tagIdentifier, Tag<Item> tag, Optional<Integer> count) {
 		super(IngredientManager.TAG_RECIPE_TYPE);
 		this.tagIdentifier = tagIdentifier;
@@ -59,7 +68,7 @@ public class TagIngredient extends RebornIngredient {
 		if(count.isPresent() && count.get() > itemStack.getCount()){
 			return false;
 		}
-		return itemStack.getItem().isIn(tag);
+		return getContents().items.contains(itemStack.getItem());
 	}
 
 	@Override
@@ -69,7 +78,24 @@ public class TagIngredient extends RebornIngredient {
 
 	@Override
 	public List<ItemStack> getPreviewStacks() {
-		return tag.values().stream().map(ItemStack::new).peek(itemStack -> itemStack.setCount(count.orElse(1))).collect(Collectors.toList());
+		//Callers are free to change the stacks they get, so the cached ones are never handed out
+		List<ItemStack> previewStacks = getContents().previewStacks;
+		List<ItemStack> copies = new ArrayList<>(previewStacks.size());
+		for (ItemStack stack : previewStacks) {
+			copies.add(stack.copy());
+		}
+		return copies;
+	}
+
+	//Built once per tag reload, recipe sync can call this from the network thread so a new instance is always published
+	private TagContents getContents() {
+		TagContents contents = this.contents;
+		int version = ItemTags.getLatestVersion();
+		if (contents == null || contents.version != version) {
+			contents = new TagContents(version, tag, count.orElse(1));
+			this.contents = contents;
+		}
+		return contents;
 	}
 
 	public static RebornIngredient deserialize(JsonObject json) {
@@ -98,16 +124,36 @@ public class TagIngredient extends RebornIngredient {
 		return new TagIngredient(identifier, tag, count);
 	}
 
+	public static RebornIngredient read(PacketByteBuf buf, RecipeSyncContext context) {
+		Identifier tagIdent = context.readIdentifier(buf);
+		Optional<Integer> count = buf.readBoolean() ? Optional.of(buf.readVarInt()) : Optional.empty();
+		return new TagIngredient(tagIdent, context.readTag(buf), count);
+	}
+
+	@Override
+	public boolean canWrite() {
+		return true;
+	}
+
+	@Override
+	public void write(PacketByteBuf buf, RecipeSyncContext context) {
+		context.writeIdentifier(buf, tagIdentifier);
+		buf.writeBoolean(count.isPresent());
+		count.ifPresent(buf::writeVarInt);
+		//Tags are not synced across the server, the items are only sent once per packet for each tag
+		context.writeTag(buf, tag, getContents().values);
+	}
+
 	@Override
 	public JsonObject toJson() {
 		//Tags are not synced across the server so we sync all the items
 		JsonObject jsonObject = new JsonObject();
 		jsonObject.addProperty("server_sync", true);
 
-		Item[] items = tag.values().toArray(new Item[0]);
-		jsonObject.addProperty("items", items.length);
-		for (int i = 0; i < items.length; i++) {
-			jsonObject.addProperty("item_" + i, Registry.ITEM.getId(items[i]).toString());
+		String[] itemIds = getContents().itemIds;
+		jsonObject.addProperty("items", itemIds.length);
+		for (int i = 0; i < itemIds.length; i++) {
+			jsonObject.addProperty("item_" + i, itemIds[i]);
 		}
 
 		count.ifPresent(integer -> jsonObject.addProperty("count", integer));
@@ -115,8 +161,44 @@ public class TagIngredient extends RebornIngredient {
 		return jsonObject;
 	}
 
+	@Override
+	public Collection<Item> getMatchingItems() {
+		return getContents().items;
+	}
+
+	@Override
+	public boolean matchesItemsOnly() {
+		return count.orElse(1) <= 1;
+	}
+
 	@Override
 	public int getCount() {
 		return count.orElse(1);
 	}
+
+	private static class TagContents {
+		private final int version;
+		private final Set<Item> items;
+		private final Item[] values;
+		private final List<ItemStack> previewStacks;
+		private final String[] itemIds;
+
+		private TagContents(int version, Tag<Item> tag, int count) {
+			this.version = version;
+
+			Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+			items.addAll(tag.values());
+			this.items = Collections.unmodifiableSet(items);
+			this.values = tag.values().toArray(new Item[0]);
+
+			this.previewStacks = Collections.unmodifiableList(tag.values().stream()
+				.map(ItemStack::new)
+				.peek(itemStack -> itemStack.setCount(count))
+				.collect(Collectors.toList()));
+
+			this.itemIds = tag.values().stream()
+				.map(item -> Registry.ITEM.getId(item).toString())
+				.toArray(String[]::new);
+		}
+	}
 }
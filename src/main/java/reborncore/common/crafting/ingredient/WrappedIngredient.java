@@ -26,12 +26,17 @@ package reborncore.common.crafting.ingredient;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.Ingredient;
+import net.minecraft.util.PacketByteBuf;
+import reborncore.common.crafting.RecipeSyncContext;
 import reborncore.mixin.common.AccessorIngredient;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class WrappedIngredient extends RebornIngredient {
     private Ingredient wrapped;
@@ -70,6 +75,36 @@ public class WrappedIngredient extends RebornIngredient {
         return jsonObject;
     }
 
+    @Override
+    public Collection<Item> getMatchingItems() {
+        //An empty vanilla ingredient matches empty stacks
+        if (wrapped.isEmpty()) {
+            return null;
+        }
+        //Testing forces the vanilla ingredient to resolve its matching stacks
+        wrapped.test(ItemStack.EMPTY);
+        ItemStack[] matchingStacks = ((AccessorIngredient) (Object) wrapped).getMatchingStacks();
+        if (matchingStacks == null) {
+            return null;
+        }
+        return Arrays.stream(matchingStacks).map(ItemStack::getItem).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean matchesItemsOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return true;
+    }
+
+    @Override
+    public void write(PacketByteBuf buf, RecipeSyncContext context) {
+        wrapped.write(buf);
+    }
+
     @Override
     public int getCount() {
         return ((AccessorIngredient) (Object) wrapped).getMatchingStacks().length;
@@ -85,4 +120,8 @@ public class WrappedIngredient extends RebornIngredient {
         }
         return new WrappedIngredient(underlying);
     }
+
+    public static RebornIngredient read(PacketByteBuf buf, RecipeSyncContext context) {
+        return new WrappedIngredient(Ingredient.fromPacket(buf));
+    }
 }
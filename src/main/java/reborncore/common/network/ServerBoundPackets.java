@@ -115,6 +115,7 @@ public class ServerBoundPackets {
 				holder.setInput(input);
 				holder.setOutput(output);
 				holder.setfilter(filter);
+				machineBase.markDirty();
 
 				//Syncs back to the client
 				Packet<ClientPlayPacketListener> packetSlotSync = ClientBoundPackets.createPacketSlotSync(pos, machineBase.getSlotConfiguration());
@@ -35,6 +35,8 @@ import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.MathHelper;
 import reborncore.api.IListInfoProvider;
 import reborncore.common.blockentity.MachineBaseBlockEntity;
+import reborncore.common.blockentity.MachineProfiler;
+import reborncore.common.util.RebornInventory;
 import reborncore.common.util.StringUtils;
 import team.reborn.energy.Energy;
 import team.reborn.energy.EnergySide;
@@ -110,10 +112,11 @@ public abstract class PowerAcceptorBlockEntity extends MachineBaseBlockEntity im
 		if (chargeEnergy <= 0.0) {
 			return;
 		}
-		if (!getOptionalInventory().isPresent()) {
+		RebornInventory<?> inventory = getMachineInventory();
+		if (inventory == null) {
 			return;
 		}
-		ItemStack batteryStack = getOptionalInventory().get().getInvStack(slot);
+		ItemStack batteryStack = inventory.getInvStack(slot);
 		if (batteryStack.isEmpty()) {
 			return;
 		}
@@ -139,7 +142,7 @@ public abstract class PowerAcceptorBlockEntity extends MachineBaseBlockEntity im
 			return;
 		}
 
-		ItemStack batteryStack = getOptionalInventory().get().getInvStack(slot);
+		ItemStack batteryStack = getMachineInventory().getInvStack(slot);
 		if(batteryStack.isEmpty()){
 			return;
 		}
@@ -178,6 +181,8 @@ public abstract class PowerAcceptorBlockEntity extends MachineBaseBlockEntity im
 		}
 
 		if (getEnergy() > 0) { // Tesla or IC2 should handle this if enabled, so only do this without tesla
+			MachineProfiler.Sample sample = MachineProfiler.current(this);
+			long start = MachineProfiler.startPhase(sample);
 			for (Direction side : Direction.values()) {
 				BlockEntity blockEntity = getWorld().getBlockEntity(getPos().offset(side));
 				if(blockEntity == null || !Energy.valid(blockEntity)){
@@ -190,12 +195,33 @@ public abstract class PowerAcceptorBlockEntity extends MachineBaseBlockEntity im
 					)
 					.move();
 			}
+			MachineProfiler.endPhase(sample, MachineProfiler.Phase.ENERGY_PUSH, start);
 		}
 
 		powerChange = getEnergy() - powerLastTick;
 		powerLastTick = getEnergy();
 	}
 
+	@Override
+	public boolean canIdle() {
+		return super.canIdle() && !hasEnergyPush();
+	}
+
+	/**
+	 * @return true when the tick may push energy into neighbors, it then has to keep running
+	 */
+	protected boolean hasEnergyPush() {
+		if (getEnergy() <= 0) {
+			return false;
+		}
+		for (Direction side : Direction.values()) {
+			if (getMaxOutput(EnergySide.fromMinecraft(side)) > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public void fromTag(CompoundTag tag) {
 		super.fromTag(tag);
@@ -255,11 +281,15 @@ public abstract class PowerAcceptorBlockEntity extends MachineBaseBlockEntity im
 
 	@Override
 	public void setStored(double amount) {
+		double oldEnergy = energy;
 		this.energy = amount;
 		if(checkOverfill){
 			this.energy = Math.max(Math.min(energy, getMaxPower()), 0);
 		}
-		markDirty();
+		//Also wakes the machine up in the tick scheduler, so only do it when the energy really moved
+		if (energy != oldEnergy) {
+			markDirty();
+		}
 	}
 
 	public void setEnergy(double energy) {
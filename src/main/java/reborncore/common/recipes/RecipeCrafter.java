@@ -25,22 +25,31 @@
 package reborncore.common.recipes;
 
 import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.World;
 import reborncore.RebornCore;
 import reborncore.api.recipe.IRecipeCrafterProvider;
+import reborncore.common.RebornCoreConfig;
+import reborncore.common.blockentity.MachineBaseBlockEntity;
 import reborncore.common.blocks.BlockMachineBase;
 import reborncore.common.crafting.RebornRecipe;
 import reborncore.common.crafting.RebornRecipeType;
+import reborncore.common.crafting.RecipeIndex;
+import reborncore.common.crafting.RecipeSnapshot;
+import reborncore.common.crafting.RecipeUtils;
 import reborncore.common.crafting.ingredient.RebornIngredient;
 import reborncore.common.util.ItemUtils;
 import reborncore.common.util.RebornInventory;
-import team.reborn.energy.Energy;
 import team.reborn.energy.EnergySide;
 import team.reborn.energy.EnergyStorage;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -64,6 +73,9 @@ public class RecipeCrafter implements IUpgradeHandler {
 	public EnergyStorage energy;
 
 	public Optional<IUpgradeHandler> parentUpgradeHandler = Optional.empty();
+	// Resolved once so the per tick upgrade lookups do not go through Optional lambdas
+	@Nullable
+	private final IUpgradeHandler upgradeHandler;
 
 	/**
 	 * This is the amount of inputs that the setRecipe has
@@ -94,9 +106,37 @@ public class RecipeCrafter implements IUpgradeHandler {
 	public RebornRecipe currentRecipe;
 	public int currentTickTime = 0;
 	public int currentNeededTicks = 1;// Set to 1 to stop rare crashes
+	// How many operations of the current recipe the speed upgrades allow to finish in one tick
+	public int operationsPerTick = 1;
 	double lastEnergy;
 
-	int ticksSinceLastChange;
+	/**
+	 * Set when no recipe could be started, the crafter then skips its update until something it depends on changes
+	 */
+	boolean sleeping;
+	// Set when a recipe only failed the IRecipeCrafterProvider or fluid check, these are polled while sleeping
+	boolean pollWhileSleeping;
+	// Set when the finished recipe did not fit the outputs, it is retried when the inventory changes
+	boolean outputBlocked;
+	boolean wasPowered;
+	long recipeEpoch = -1;
+	// World time of the last recheck while sleeping
+	long lastSleepCheck;
+	int sleepFingerprint;
+	double sleepSpeedMultiplier;
+	double sleepPowerMultiplier;
+
+	private final RecipeMemo recipeMemo = new RecipeMemo(4);
+	// Reused by findRecipe for the candidates of the recipe index
+	private final BitSet candidates = new BitSet();
+	// Output index -> whether it is the first output going into its slot, built for the outputSlots array it was made from
+	private boolean[] outputSlotMask;
+	private int[] maskedOutputSlots;
+	// Items taken from each input slot by the current input assignment
+	private int[] inputDemand;
+	// Input slot index taken by each ingredient of assignedRecipe, kept while the inventory still satisfies it
+	private RebornRecipe assignedRecipe;
+	private int[] inputAssignment = new int[0];
 
 	@Nullable
 	public static ICrafterSoundHanlder soundHanlder = (firstRun, blockEntity) -> {};
@@ -109,7 +149,10 @@ public class RecipeCrafter implements IUpgradeHandler {
 			energy = (EnergyStorage) blockEntity;
 		}
 		if (blockEntity instanceof IUpgradeHandler) {
-			parentUpgradeHandler = Optional.of((IUpgradeHandler) blockEntity);
+			upgradeHandler = (IUpgradeHandler) blockEntity;
+			parentUpgradeHandler = Optional.of(upgradeHandler);
+		} else {
+			upgradeHandler = null;
 		}
 		this.inputs = inputs;
 		this.outputs = outputs;
@@ -125,15 +168,25 @@ public class RecipeCrafter implements IUpgradeHandler {
 	 * Call this on the blockEntity tick
 	 */
 	public void updateEntity() {
-		if (blockEntity.getWorld().isClient) {
+		World world = blockEntity.getWorld();
+		if (world != null && world.isClient) {
 			return;
 		}
-		ticksSinceLastChange++;
-		// Force a has chanced every second
-		if (ticksSinceLastChange == 20) {
+		if (sleeping) {
+			if (!shouldWakeUp()) {
+				return;
+			}
+			sleeping = false;
+			setInvDirty(true);
+		}
+		long epoch = getReloadEpoch();
+		if (epoch != recipeEpoch) {
+			recipeEpoch = epoch;
+			recipeMemo.clear();
 			setInvDirty(true);
-			ticksSinceLastChange = 0;
-			setIsActive();
+		}
+		if (isInvDirty()) {
+			outputBlocked = false;
 		}
 		// It will now look for new recipes.
 		if (currentRecipe == null && isInvDirty()) {
@@ -146,40 +199,46 @@ public class RecipeCrafter implements IUpgradeHandler {
 				currentTickTime = 0;
 				setIsActive();
 			}
+			// Only touch the block state when the machine runs out of or gets back its power
+			if (currentRecipe != null && isActive() != wasPowered) {
+				setIsActive(currentRecipe);
+			}
 			// If it has reached the recipe tick time
-			if (currentRecipe != null && currentTickTime >= currentNeededTicks && hasAllInputs()) {
+			if (currentRecipe != null && currentTickTime >= currentNeededTicks && !outputBlocked && hasAllInputs()) {
+				ItemStack[] recipeOutputs = currentRecipe.getOutputArray();
 				boolean canGiveInvAll = true;
 				// Checks to see if it can fit the output
-				for (int i = 0; i < currentRecipe.getOutputs().size(); i++) {
-					if (!canFitOutput(currentRecipe.getOutputs().get(i), outputSlots[i])) {
+				for (int i = 0; i < recipeOutputs.length; i++) {
+					if (!canFitOutput(recipeOutputs[i], outputSlots[i])) {
 						canGiveInvAll = false;
+						break;
 					}
 				}
-				// The slots that have been filled
-				ArrayList<Integer> filledSlots = new ArrayList<>();
 				if (canGiveInvAll && currentRecipe.onCraft(blockEntity)) {
-					for (int i = 0; i < currentRecipe.getOutputs().size(); i++) {
-						// Checks it has not been filled
-						if (!filledSlots.contains(outputSlots[i])) {
-							// Fills the slot with the output stack
-							fitStack(currentRecipe.getOutputs().get(i).copy(), outputSlots[i]);
-							filledSlots.add(outputSlots[i]);
+					int operations = 1 + craftExtraOperations();
+					boolean[] firstInSlot = getOutputSlotMask();
+					for (int i = 0; i < recipeOutputs.length; i++) {
+						// Outputs sharing a slot only fill it once
+						if (firstInSlot[i]) {
+							fitOutput(recipeOutputs[i], operations, outputSlots[i]);
 						}
 					}
 					// This uses all the inputs
-					useAllInputs();
+					useAllInputs(operations);
 					// Reset
 					currentRecipe = null;
 					currentTickTime = 0;
 					updateCurrentRecipe();
-					//Update active sate if the blockEntity isnt going to start crafting again
+					//Update active sate if the blockEntity isnt going to start crafting again, no recipe was just found
 					if (currentRecipe == null) {
-						setIsActive();
+						setIsActive(null);
 					}
+				} else if (!canGiveInvAll) {
+					outputBlocked = true;
 				}
 			} else if (currentRecipe != null && currentTickTime < currentNeededTicks) {
 				double useRequirement = getEuPerTick(currentRecipe.getPower());
-				if(Energy.of(energy).use(useRequirement)){
+				if (useEnergy(useRequirement)) {
 					currentTickTime++;
 					if (currentTickTime == 1 || currentTickTime % 20 == 0 && soundHanlder != null) {
 						soundHanlder.playSound(false, blockEntity);
@@ -188,30 +247,228 @@ public class RecipeCrafter implements IUpgradeHandler {
 			}
 		}
 		setInvDirty(false);
+		if (currentRecipe == null) {
+			goToSleep();
+		}
+	}
+
+	/**
+	 * Wakes the crafter up so it looks for a recipe on its next update. Call this when something a recipe's
+	 * {@link IRecipeCrafterProvider#canCraft(RebornRecipe)} check depends on has changed, this also forgets
+	 * the recipes remembered for the previous inputs.
+	 */
+	public void wakeUp() {
+		sleeping = false;
+		recipeMemo.clear();
+		setInvDirty(true);
+	}
+
+	public boolean isSleeping() {
+		return sleeping;
+	}
+
+	/**
+	 * @return true while sleeping on a recipe whose canCraft check failed, this is rechecked on a timer rather than
+	 * on inventory changes
+	 */
+	public boolean isPolling() {
+		return sleeping && pollWhileSleeping;
+	}
+
+	private long getWorldTime() {
+		World world = blockEntity.getWorld();
+		return world != null ? world.getTime() : 0;
+	}
+
+	private void goToSleep() {
+		sleeping = true;
+		lastSleepCheck = getWorldTime();
+		sleepFingerprint = getSlotFingerprint();
+		sleepSpeedMultiplier = getSpeedMultiplier();
+		sleepPowerMultiplier = getPowerMultiplier();
+	}
+
+	private boolean shouldWakeUp() {
+		if (isInvDirty() || getReloadEpoch() != recipeEpoch) {
+			return true;
+		}
+		if (getSpeedMultiplier() != sleepSpeedMultiplier || getPowerMultiplier() != sleepPowerMultiplier) {
+			return true;
+		}
+		// Counted in world time, so a machine the tick scheduler skips still rechecks on time
+		long time = getWorldTime();
+		if (time - lastSleepCheck < RebornCoreConfig.idleCrafterRecheck) {
+			return false;
+		}
+		lastSleepCheck = time;
+		// Catches stacks that were changed in place without the inventory being told about it
+		return pollWhileSleeping || getSlotFingerprint() != sleepFingerprint;
+	}
+
+	private int getSlotFingerprint() {
+		int hash = 1;
+		for (int slot : inputSlots) {
+			hash = 31 * hash + getStackFingerprint(inventory.getInvStack(slot));
+		}
+		for (int slot : outputSlots) {
+			hash = 31 * hash + getStackFingerprint(inventory.getInvStack(slot));
+		}
+		return hash;
+	}
+
+	private static int getStackFingerprint(ItemStack stack) {
+		if (stack.isEmpty()) {
+			return 0;
+		}
+		int hash = 31 * System.identityHashCode(stack.getItem()) + stack.getCount();
+		if (stack.hasTag()) {
+			hash = 31 * hash + stack.getTag().hashCode();
+		}
+		return hash;
 	}
 
 	public void updateCurrentRecipe() {
 		currentTickTime = 0;
-		for (RebornRecipe recipe : recipeType.getRecipes(blockEntity.getWorld())) {
-			// This checks to see if it has all of the inputs
-			if (recipe.canCraft(blockEntity) && hasAllInputs(recipe)) {
-				// This checks to see if it can fit all of the outputs
-				for (int i = 0; i < recipe.getOutputs().size(); i++) {
-					if (!canFitOutput(recipe.getOutputs().get(i), outputSlots[i])) {
-						currentRecipe = null;
-						this.currentTickTime = 0;
-						setIsActive();
-						return;
-					}
-				}
-				// Sets the current recipe then syncs
-				setCurrentRecipe(recipe);
-				this.currentNeededTicks = Math.max((int) (currentRecipe.getTime() * (1.0 - getSpeedMultiplier())), 1);
+		RebornRecipe recipe = findRecipe();
+		if (recipe == null) {
+			return;
+		}
+		// This checks to see if it can fit all of the outputs
+		ItemStack[] recipeOutputs = recipe.getOutputArray();
+		for (int i = 0; i < recipeOutputs.length; i++) {
+			if (!canFitOutput(recipeOutputs[i], outputSlots[i])) {
+				currentRecipe = null;
 				this.currentTickTime = 0;
-				setIsActive();
+				setIsActive(recipe);
 				return;
 			}
 		}
+		// Sets the current recipe then syncs
+		setCurrentRecipe(recipe);
+		double neededTicks = currentRecipe.getTime() * (1.0 - getSpeedMultiplier());
+		this.currentNeededTicks = Math.max((int) neededTicks, 1);
+		this.operationsPerTick = neededTicks < 1 ? (int) Math.max(Math.min(1 / neededTicks, RebornCoreConfig.maxCraftingBatch), 1) : 1;
+		this.currentTickTime = 0;
+		setIsActive(recipe);
+	}
+
+	/**
+	 * Runs the extra operations of the current recipe that its upgraded speed allows this tick. The caller has
+	 * already crafted the first one, and then applies the outputs and inputs of all of them in a single pass.
+	 *
+	 * @return the amount of extra operations that were crafted
+	 */
+	private int craftExtraOperations() {
+		if (operationsPerTick <= 1) {
+			return 0;
+		}
+		int operations = Math.min(operationsPerTick, getInputOperations());
+		ItemStack[] recipeOutputs = currentRecipe.getOutputArray();
+		boolean[] firstInSlot = getOutputSlotMask();
+		for (int i = 0; i < recipeOutputs.length && operations > 1; i++) {
+			if (firstInSlot[i]) {
+				operations = Math.min(operations, getOutputOperations(recipeOutputs[i], outputSlots[i]));
+			}
+		}
+		double useRequirement = getEuPerTick(currentRecipe.getPower());
+		if (useRequirement > 0) {
+			operations = (int) Math.min(operations, 1 + energy.getStored(EnergySide.UNKNOWN) / useRequirement);
+		}
+		int extra = 0;
+		while (extra < operations - 1 && currentRecipe.onCraft(blockEntity)) {
+			extra++;
+		}
+		if (extra > 0 && useRequirement > 0) {
+			useEnergy(useRequirement * extra);
+		}
+		return extra;
+	}
+
+	private int getInputOperations() {
+		if (getInputAssignment(currentRecipe) == null) {
+			return 1;
+		}
+		// A satisfied assignment leaves the amount it takes from each input slot in inputDemand
+		int operations = Integer.MAX_VALUE;
+		for (int i = 0; i < inputSlots.length; i++) {
+			if (inputDemand[i] > 0) {
+				operations = Math.min(operations, inventory.getInvStack(inputSlots[i]).getCount() / inputDemand[i]);
+			}
+		}
+		return operations;
+	}
+
+	private int getOutputOperations(ItemStack output, int slot) {
+		if (output.isEmpty()) {
+			return Integer.MAX_VALUE;
+		}
+		ItemStack stack = inventory.getInvStack(slot);
+		if (stack.isEmpty()) {
+			return output.getMaxCount() / output.getCount();
+		}
+		if (!ItemUtils.isItemEqual(stack, output, true, true)) {
+			return 0;
+		}
+		return (output.getMaxCount() - stack.getCount()) / output.getCount();
+	}
+
+	private boolean[] getOutputSlotMask() {
+		if (maskedOutputSlots != outputSlots) {
+			boolean[] mask = new boolean[outputSlots.length];
+			for (int i = 0; i < outputSlots.length; i++) {
+				mask[i] = true;
+				for (int j = 0; j < i; j++) {
+					if (outputSlots[j] == outputSlots[i]) {
+						mask[i] = false;
+						break;
+					}
+				}
+			}
+			outputSlotMask = mask;
+			maskedOutputSlots = outputSlots;
+		}
+		return outputSlotMask;
+	}
+
+	private boolean useEnergy(double amount) {
+		double stored = energy.getStored(EnergySide.UNKNOWN);
+		if (stored < amount) {
+			return false;
+		}
+		energy.setStored(stored - amount);
+		return true;
+	}
+
+	/**
+	 * Finds the first recipe that has all of its inputs and passes its canCraft check
+	 *
+	 * @return the recipe, or null if none can be crafted
+	 */
+	@Nullable
+	public RebornRecipe findRecipe() {
+		RebornRecipe remembered = recipeMemo.get(inventory, inputSlots);
+		if (remembered != null && remembered.canCraft(blockEntity) && hasAllInputs(remembered)) {
+			return remembered;
+		}
+		pollWhileSleeping = false;
+		RecipeIndex<?> index = getRecipeSnapshot().getIndex();
+		index.findCandidates(inventory, inputSlots, candidates);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			RebornRecipe recipe = index.getRecipe(i);
+			// This checks to see if it has all of the inputs
+			if (hasAllInputs(recipe)) {
+				if (!recipe.canCraft(blockEntity)) {
+					pollWhileSleeping = true;
+					continue;
+				}
+				// A recipe that won over one failing canCraft may not win again, so only remember clean results
+				if (!pollWhileSleeping) {
+					recipeMemo.put(inventory, inputSlots, recipe);
+				}
+				return recipe;
+			}
+		}
+		return null;
 	}
 
 	public boolean hasAllInputs() {
@@ -222,14 +479,86 @@ public class RecipeCrafter implements IUpgradeHandler {
 		if (recipeType == null) {
 			return false;
 		}
-		for (RebornIngredient ingredient : recipeType.getRebornIngredients()) {
-			boolean hasItem = false;
-			for (int slot : inputSlots) {
-				if (ingredient.test(inventory.getInvStack(slot))) {
-					hasItem = true;
+		return getInputAssignment(recipeType) != null;
+	}
+
+	/**
+	 * Assigns every ingredient of the recipe an input slot, so that each slot holds enough items for all of the
+	 * ingredients taking from it. The assignment of the last recipe is kept and only searched again once the
+	 * inventory no longer satisfies it.
+	 *
+	 * @return the index in {@link #inputSlots} for each ingredient, or null if the inputs are missing
+	 */
+	@Nullable
+	private int[] getInputAssignment(RebornRecipe recipe) {
+		List<RebornIngredient> ingredients = recipe.getRebornIngredients();
+		if (inputDemand == null || inputDemand.length != inputSlots.length) {
+			inputDemand = new int[inputSlots.length];
+		}
+		if (assignedRecipe == recipe && isAssignmentValid(ingredients)) {
+			return inputAssignment;
+		}
+		assignedRecipe = null;
+		// Bail out before searching when an ingredient has nowhere to go at all
+		for (int i = 0; i < ingredients.size(); i++) {
+			if (!hasMatchingSlot(ingredients.get(i))) {
+				return null;
+			}
+		}
+		if (inputAssignment.length != ingredients.size()) {
+			inputAssignment = new int[ingredients.size()];
+		}
+		Arrays.fill(inputDemand, 0);
+		if (!assignInputs(ingredients, 0)) {
+			return null;
+		}
+		assignedRecipe = recipe;
+		return inputAssignment;
+	}
+
+	private boolean hasMatchingSlot(RebornIngredient ingredient) {
+		for (int slot : inputSlots) {
+			if (ingredient.test(inventory.getInvStack(slot))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean assignInputs(List<RebornIngredient> ingredients, int index) {
+		if (index == ingredients.size()) {
+			return true;
+		}
+		RebornIngredient ingredient = ingredients.get(index);
+		int count = ingredient.getCount();
+		for (int i = 0; i < inputSlots.length; i++) {
+			ItemStack stack = inventory.getInvStack(inputSlots[i]);
+			if (stack.getCount() - inputDemand[i] >= count && ingredient.test(stack)) {
+				inputDemand[i] += count;
+				inputAssignment[index] = i;
+				if (assignInputs(ingredients, index + 1)) {
+					return true;
 				}
+				inputDemand[i] -= count;
+			}
+		}
+		return false;
+	}
+
+	private boolean isAssignmentValid(List<RebornIngredient> ingredients) {
+		if (inputAssignment.length != ingredients.size()) {
+			return false;
+		}
+		Arrays.fill(inputDemand, 0);
+		for (int i = 0; i < inputAssignment.length; i++) {
+			int slot = inputAssignment[i];
+			if (slot >= inputSlots.length) {
+				return false;
 			}
-			if (!hasItem) {
+			RebornIngredient ingredient = ingredients.get(i);
+			ItemStack stack = inventory.getInvStack(inputSlots[slot]);
+			inputDemand[slot] += ingredient.getCount();
+			if (stack.getCount() < inputDemand[slot] || !ingredient.test(stack)) {
 				return false;
 			}
 		}
@@ -237,13 +566,26 @@ public class RecipeCrafter implements IUpgradeHandler {
 	}
 
 	public void useAllInputs() {
+		useAllInputs(1);
+	}
+
+	public void useAllInputs(int operations) {
 		if (currentRecipe == null) {
 			return;
 		}
-		for (RebornIngredient ingredient : currentRecipe.getRebornIngredients()) {
+		List<RebornIngredient> ingredients = currentRecipe.getRebornIngredients();
+		int[] assignment = getInputAssignment(currentRecipe);
+		if (assignment != null) {
+			for (int i = 0; i < assignment.length; i++) {
+				inventory.shrinkSlot(inputSlots[assignment[i]], ingredients.get(i).getCount() * operations);
+			}
+			return;
+		}
+		for (int i = 0; i < ingredients.size(); i++) {
+			RebornIngredient ingredient = ingredients.get(i);
 			for (int inputSlot : inputSlots) {// Uses all of the inputs
 				if (ingredient.test(inventory.getInvStack(inputSlot))) {
-					inventory.shrinkSlot(inputSlot, ingredient.getCount());
+					inventory.shrinkSlot(inputSlot, ingredient.getCount() * operations);
 					break;
 				}
 			}
@@ -265,6 +607,25 @@ public class RecipeCrafter implements IUpgradeHandler {
 		return false;
 	}
 
+	/**
+	 * Adds the output of the given amount of operations to a slot, growing the stack already in it rather than copying it
+	 */
+	private void fitOutput(ItemStack output, int operations, int slot) {
+		if (output.isEmpty()) {
+			return;
+		}
+		int count = output.getCount() * operations;
+		ItemStack stack = inventory.getInvStack(slot);
+		if (stack.isEmpty()) {
+			ItemStack newStack = output.copy();
+			newStack.setCount(count);
+			inventory.setInvStack(slot, newStack);
+		} else if (ItemUtils.isItemEqual(stack, output, true) && stack.getCount() + count <= output.getMaxCount()) {
+			stack.increment(count);
+			inventory.markDirty();
+		}
+	}
+
 	public void fitStack(ItemStack stack, int slot) {// This fits a stack into a slot
 		if (stack.isEmpty()) {
 			return;
@@ -314,34 +675,44 @@ public class RecipeCrafter implements IUpgradeHandler {
 	}
 
 	public boolean canCraftAgain() {
-		for (RebornRecipe recipe : recipeType.getRecipes(blockEntity.getWorld())) {
-			if (recipe.canCraft(blockEntity) && hasAllInputs(recipe)) {
-				boolean canGiveInvAll = true;
-				for (int i = 0; i < recipe.getOutputs().size(); i++) {
-					if (!canFitOutput(recipe.getOutputs().get(i), outputSlots[i])) {
-						canGiveInvAll = false;
-						return false;
-					}
-				}
-				if (energy.getStored(EnergySide.UNKNOWN) < recipe.getPower()) {
-					return false;
-				}
-				return canGiveInvAll;
+		RebornRecipe recipe = findRecipe();
+		return recipe != null && canStart(recipe);
+	}
+
+	private boolean canStart(RebornRecipe recipe) {
+		ItemStack[] recipeOutputs = recipe.getOutputArray();
+		for (int i = 0; i < recipeOutputs.length; i++) {
+			if (!canFitOutput(recipeOutputs[i], outputSlots[i])) {
+				return false;
 			}
 		}
-		return false;
+		return energy.getStored(EnergySide.UNKNOWN) >= recipe.getPower();
 	}
 
 	public void setIsActive() {
-		if (blockEntity.getWorld().getBlockState(blockEntity.getPos()).getBlock() instanceof BlockMachineBase) {
+		wasPowered = isActive();
+		setActiveState(wasPowered || canCraftAgain());
+	}
+
+	/**
+	 * Same as {@link #setIsActive()} for when the next recipe was just looked up, so the recipes are not searched again
+	 *
+	 * @param nextRecipe the recipe that was found, or null when none was
+	 */
+	private void setIsActive(@Nullable RebornRecipe nextRecipe) {
+		wasPowered = isActive();
+		setActiveState(wasPowered || nextRecipe != null && canStart(nextRecipe));
+	}
+
+	private void setActiveState(boolean active) {
+		//The block state write sends the update to clients, and is skipped when the state does not change
+		if (blockEntity instanceof MachineBaseBlockEntity) {
+			((MachineBaseBlockEntity) blockEntity).getActiveState().setActive(active);
+		} else if (blockEntity.getWorld().getBlockState(blockEntity.getPos()).getBlock() instanceof BlockMachineBase) {
 			BlockMachineBase blockMachineBase = (BlockMachineBase) blockEntity.getWorld()
 				.getBlockState(blockEntity.getPos()).getBlock();
-			boolean isActive = isActive() || canCraftAgain();
-			blockMachineBase.setActive(isActive, blockEntity.getWorld(), blockEntity.getPos());
+			blockMachineBase.setActive(active, blockEntity.getWorld(), blockEntity.getPos());
 		}
-		blockEntity.getWorld().updateListeners(blockEntity.getPos(),
-		                                  blockEntity.getWorld().getBlockState(blockEntity.getPos()),
-		                                  blockEntity.getWorld().getBlockState(blockEntity.getPos()), 3);
 	}
 
 	public void setCurrentRecipe(RebornRecipe recipe) {
@@ -357,52 +728,132 @@ public class RecipeCrafter implements IUpgradeHandler {
 	}
 
 	public boolean isStackValidInput(ItemStack stack) {
-		if (stack.isEmpty()) {
-			return false;
-		}
-		for (RebornRecipe recipe : recipeType.getRecipes(blockEntity.getWorld())) {
-			for (RebornIngredient ingredient : recipe.getRebornIngredients()) {
-				if (ingredient.test(stack)) {
-					return true;
-				}
-			}
-		}
-		return false;
+		return getRecipeSnapshot().getInputFilter().accepts(stack);
+	}
+
+	/**
+	 * @return the recipes of the crafter's type, from the world of its block entity
+	 */
+	protected RecipeSnapshot<?> getRecipeSnapshot() {
+		return recipeType.getRecipeSnapshot(blockEntity.getWorld());
+	}
+
+	/**
+	 * @return the reload epoch of the recipes, see {@link RecipeUtils#getReloadEpoch(World)}
+	 */
+	protected long getReloadEpoch() {
+		return RecipeUtils.getReloadEpoch(blockEntity.getWorld());
 	}
 
 	@Override
 	public void resetSpeedMulti() {
-		parentUpgradeHandler.ifPresent(IUpgradeHandler::resetSpeedMulti);
+		if (upgradeHandler != null) {
+			upgradeHandler.resetSpeedMulti();
+		}
 	}
 
 	@Override
 	public double getSpeedMultiplier() {
-		return Math.min(parentUpgradeHandler.map(IUpgradeHandler::getSpeedMultiplier).orElse(0D), 0.975);
+		return upgradeHandler != null ? Math.min(upgradeHandler.getSpeedMultiplier(), 0.975) : 0D;
 	}
 
 	@Override
 	public void addPowerMulti(double amount) {
-		parentUpgradeHandler.ifPresent(iUpgradeHandler -> iUpgradeHandler.addPowerMulti(amount));
+		if (upgradeHandler != null) {
+			upgradeHandler.addPowerMulti(amount);
+		}
 	}
 
 	@Override
 	public void resetPowerMulti() {
-		parentUpgradeHandler.ifPresent(IUpgradeHandler::resetPowerMulti);
+		if (upgradeHandler != null) {
+			upgradeHandler.resetPowerMulti();
+		}
 	}
 
 	@Override
 	public double getPowerMultiplier() {
-		return parentUpgradeHandler.map(IUpgradeHandler::getPowerMultiplier).orElse(1D);
+		return upgradeHandler != null ? upgradeHandler.getPowerMultiplier() : 1D;
 	}
 
 	@Override
 	public double getEuPerTick(double baseEu) {
-		double power = parentUpgradeHandler.map(iUpgradeHandler -> iUpgradeHandler.getEuPerTick(baseEu)).orElse(1D);
+		double power = upgradeHandler != null ? upgradeHandler.getEuPerTick(baseEu) : 1D;
 		return Math.min(power, energy.getMaxStoredPower());
 	}
 
 	@Override
 	public void addSpeedMulti(double amount) {
-		parentUpgradeHandler.ifPresent(iUpgradeHandler -> iUpgradeHandler.addSpeedMulti(amount));
+		if (upgradeHandler != null) {
+			upgradeHandler.addSpeedMulti(amount);
+		}
+	}
+
+	/**
+	 * Remembers the recipes found for the last few contents of the input slots, so restarting a craft with the
+	 * same inputs does not search the recipes again.
+	 */
+	private static final class RecipeMemo {
+
+		private final Item[][] items;
+		private final int[][] counts;
+		private final int[][] tagHashes;
+		private final RebornRecipe[] recipes;
+		private int next;
+
+		RecipeMemo(int size) {
+			items = new Item[size][];
+			counts = new int[size][];
+			tagHashes = new int[size][];
+			recipes = new RebornRecipe[size];
+		}
+
+		@Nullable
+		RebornRecipe get(Inventory inventory, int[] slots) {
+			for (int i = 0; i < recipes.length; i++) {
+				if (recipes[i] != null && matches(i, inventory, slots)) {
+					return recipes[i];
+				}
+			}
+			return null;
+		}
+
+		void put(Inventory inventory, int[] slots, RebornRecipe recipe) {
+			int entry = next;
+			next = (next + 1) % recipes.length;
+			if (items[entry] == null || items[entry].length != slots.length) {
+				items[entry] = new Item[slots.length];
+				counts[entry] = new int[slots.length];
+				tagHashes[entry] = new int[slots.length];
+			}
+			for (int i = 0; i < slots.length; i++) {
+				ItemStack stack = inventory.getInvStack(slots[i]);
+				items[entry][i] = stack.getItem();
+				counts[entry][i] = stack.getCount();
+				tagHashes[entry][i] = getTagHash(stack);
+			}
+			recipes[entry] = recipe;
+		}
+
+		void clear() {
+			Arrays.fill(recipes, null);
+		}
+
+		private boolean matches(int entry, Inventory inventory, int[] slots) {
+			if (items[entry].length != slots.length) {
+				return false;
+			}
+			for (int i = 0; i < slots.length; i++) {
+				ItemStack stack = inventory.getInvStack(slots[i]);
+				if (stack.getItem() != items[entry][i] || stack.getCount() != counts[entry][i] || getTagHash(stack) != tagHashes[entry][i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static int getTagHash(ItemStack stack) {
+			return stack.hasTag() ? stack.getTag().hashCode() : 0;
+		}
 	}
 }
@@ -132,10 +132,17 @@ public class RebornInventory<T extends MachineBaseBlockEntity> extends Inventory
 
 	public void setChanged() {
 		this.hasChanged = true;
+		if (blockEntity != null) {
+			blockEntity.wakeUp();
+		}
 	}
 
 	public void setChanged(boolean changed) {
-		this.hasChanged = changed;
+		if (changed) {
+			setChanged();
+		} else {
+			this.hasChanged = false;
+		}
 	}
 
 	public void resetChanged() {
@@ -149,6 +156,7 @@ public class RebornInventory<T extends MachineBaseBlockEntity> extends Inventory
 	@Override
 	public void markDirty() {
 		super.markDirty();
+		setChanged();
 		blockEntity.markDirty();
 	}
 
@@ -24,15 +24,26 @@
 
 package reborncore.mixin.common;
 
+import com.google.gson.JsonObject;
 import net.minecraft.inventory.Inventory;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeManager;
 import net.minecraft.recipe.RecipeType;
+import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import reborncore.common.crafting.RebornRecipe;
+import reborncore.common.crafting.RebornRecipeType;
+import reborncore.common.crafting.RecipeReloadPipeline;
+import reborncore.common.crafting.RecipeSnapshot;
 import reborncore.mixin.extensions.RecipeManagerExtensions;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Mixin(RecipeManager.class)
@@ -40,10 +51,45 @@ public abstract class MixinRecipeManager implements RecipeManagerExtensions {
 
 	@Shadow protected abstract <C extends Inventory, T extends Recipe<C>> Map<Identifier, Recipe<C>> getAllOfType(RecipeType<T> recipeType_1);
 
+	private final Map<RebornRecipeType<?>, RecipeSnapshot<?>> recipeSnapshots = new HashMap<>();
+	private long reloadEpoch = RecipeSnapshot.nextEpoch();
+
 	@Override
 	public <C extends Inventory, T extends Recipe<C>> Map<Identifier, Recipe<C>> getAll(RecipeType<T> type) {
 		return getAllOfType(type);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public <R extends RebornRecipe> RecipeSnapshot<R> getRecipeSnapshot(RebornRecipeType<R> type) {
+		return (RecipeSnapshot<R>) recipeSnapshots.computeIfAbsent(type, t -> new RecipeSnapshot<>(type, reloadEpoch, (RebornRecipe[]) getAllOfType(type).values().toArray(new RebornRecipe[0])));
+	}
+
+	@Override
+	public long getReloadEpoch() {
+		return reloadEpoch;
+	}
+
+	private void onReload() {
+		recipeSnapshots.clear();
+		reloadEpoch = RecipeSnapshot.nextEpoch();
+	}
+
+	// An inject cannot wrap apply in a finally, if it throws the pipeline is dropped by the next reload's begin instead
+	@Inject(method = "apply(Ljava/util/Map;Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)V", at = @At("HEAD"))
+	private void applyHead(Map<Identifier, JsonObject> map, ResourceManager resourceManager, Profiler profiler, CallbackInfo info) {
+		RecipeReloadPipeline.begin(map);
+	}
+
+	@Inject(method = "apply(Ljava/util/Map;Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)V", at = @At("RETURN"))
+	private void apply(Map<Identifier, JsonObject> map, ResourceManager resourceManager, Profiler profiler, CallbackInfo info) {
+		RecipeReloadPipeline.end();
+		onReload();
+	}
+
+	@Inject(method = "setRecipes", at = @At("RETURN"))
+	private void setRecipes(Iterable<Recipe<?>> recipes, CallbackInfo info) {
+		onReload();
+	}
 
 }
@@ -0,0 +1,59 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.mixin.common;
+
+import net.minecraft.client.network.packet.SynchronizeRecipesS2CPacket;
+import net.minecraft.util.PacketByteBuf;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import reborncore.common.crafting.RecipeSyncContext;
+
+//Shares a single sync context between all of the recipes in the packet
+@Mixin(SynchronizeRecipesS2CPacket.class)
+public class MixinSynchronizeRecipesS2CPacket {
+
+	@Inject(method = "read", at = @At("HEAD"))
+	private void readHead(PacketByteBuf buf, CallbackInfo info) {
+		RecipeSyncContext.begin();
+	}
+
+	@Inject(method = "read", at = @At("RETURN"))
+	private void readReturn(PacketByteBuf buf, CallbackInfo info) {
+		RecipeSyncContext.end();
+	}
+
+	@Inject(method = "write", at = @At("HEAD"))
+	private void writeHead(PacketByteBuf buf, CallbackInfo info) {
+		RecipeSyncContext.begin();
+	}
+
+	@Inject(method = "write", at = @At("RETURN"))
+	private void writeReturn(PacketByteBuf buf, CallbackInfo info) {
+		RecipeSyncContext.end();
+	}
+}
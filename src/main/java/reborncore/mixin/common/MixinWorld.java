@@ -25,15 +25,21 @@
 package reborncore.mixin.common;
 
 import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.Tickable;
 import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import reborncore.api.blockentity.UnloadHandler;
+import reborncore.common.blockentity.MachineBaseBlockEntity;
+import reborncore.common.blockentity.MachineTickScheduler;
+import reborncore.common.blockentity.NeighborCache;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mixin(World.class)
@@ -44,6 +50,7 @@ public class MixinWorld {
 	@Inject(method = "tickBlockEntities", at = @At(value = "INVOKE_STRING", target = "Lnet/minecraft/util/profiler/Profiler;push(Ljava/lang/String;)V", args = {"ldc=blockEntities"}))
 	public void tickBlockEntities(CallbackInfo info) {
 		if (!unloadedBlockEntities.isEmpty()) {
+			NeighborCache.onChunkBlockEntitiesChanged((World) (Object) this, unloadedBlockEntities);
 			for (BlockEntity blockEntity : unloadedBlockEntities) {
 				if (blockEntity instanceof UnloadHandler) {
 					((UnloadHandler) blockEntity).onUnload();
@@ -51,4 +58,25 @@ public class MixinWorld {
 			}
 		}
 	}
+
+	@Inject(method = "addBlockEntities", at = @At("HEAD"))
+	public void addBlockEntities(Collection<BlockEntity> blockEntities, CallbackInfo info) {
+		NeighborCache.onChunkBlockEntitiesChanged((World) (Object) this, blockEntities);
+	}
+
+	/**
+	 * Hands opted-in machines on the server to the {@link MachineTickScheduler} so it can skip their ticks while idle.
+	 * Skipping a single call inside the tick loop needs a redirect, as cancelling an inject would return from
+	 * {@link World#tickBlockEntities()}. A redirect is exclusive, so this one is optional: when another mod already
+	 * redirects this call it is not applied and machines simply tick every tick. Everything else, including every
+	 * client world, keeps calling {@link Tickable#tick()} directly.
+	 */
+	@Redirect(method = "tickBlockEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/util/Tickable;tick()V"), require = 0)
+	public void tickBlockEntity(Tickable tickable) {
+		if (!((World) (Object) this).isClient && tickable instanceof MachineBaseBlockEntity && ((MachineBaseBlockEntity) tickable).useTickScheduler()) {
+			MachineTickScheduler.tick((MachineBaseBlockEntity) tickable);
+		} else {
+			tickable.tick();
+		}
+	}
 }
@@ -28,6 +28,9 @@ import net.minecraft.inventory.Inventory;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeType;
 import net.minecraft.util.Identifier;
+import reborncore.common.crafting.RebornRecipe;
+import reborncore.common.crafting.RebornRecipeType;
+import reborncore.common.crafting.RecipeSnapshot;
 
 import java.util.Map;
 
@@ -35,4 +38,11 @@ public interface RecipeManagerExtensions {
 
 	<C extends Inventory, T extends Recipe<C>> Map<Identifier, Recipe<C>> getAll(RecipeType<T> recipeType_1);
 
+	/**
+	 * The snapshot is built on first use and dropped when the recipes are reloaded
+	 */
+	<R extends RebornRecipe> RecipeSnapshot<R> getRecipeSnapshot(RebornRecipeType<R> type);
+
+	long getReloadEpoch();
+
 }
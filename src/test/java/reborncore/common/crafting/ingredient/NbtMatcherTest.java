@@ -0,0 +1,169 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.crafting.ingredient;
+
+import com.google.gson.JsonParser;
+import com.mojang.datafixers.Dynamic;
+import com.mojang.datafixers.types.JsonOps;
+import net.minecraft.datafixer.NbtOps;
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.FloatTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.LongTag;
+import net.minecraft.nbt.ShortTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link NbtMatcher} against the json round trip StackIngredient used before it, the expected tags are read
+ * from json the same way recipes read them.
+ */
+public class NbtMatcherTest {
+
+	@Test
+	public void wholeNumbersMatchAcrossWidths() {
+		check("{\"a\":1}", ByteTag.of((byte) 1), true);
+		check("{\"a\":1}", ShortTag.of((short) 1), true);
+		check("{\"a\":1}", IntTag.of(1), true);
+		check("{\"a\":1}", LongTag.of(1), true);
+		check("{\"a\":1}", FloatTag.of(1F), true);
+		check("{\"a\":1}", DoubleTag.of(1D), true);
+		check("{\"a\":-1}", LongTag.of(-1), true);
+		check("{\"a\":1}", IntTag.of(2), false);
+		check("{\"a\":300}", ShortTag.of((short) 300), true);
+		check("{\"a\":300}", ByteTag.of((byte) 44), false);
+		check("{\"a\":100000}", IntTag.of(100000), true);
+		check("{\"a\":5000000000}", LongTag.of(5000000000L), true);
+		check("{\"a\":5000000000}", DoubleTag.of(5.0E9), true);
+		check("{\"a\":5000000000}", IntTag.of((int) 5000000000L), false);
+		check("{\"a\":3.0}", FloatTag.of(3F), true);
+		check("{\"a\":true}", ByteTag.of((byte) 1), true);
+	}
+
+	@Test
+	public void fractionalNumbers() {
+		check("{\"a\":0.5}", FloatTag.of(0.5F), true);
+		check("{\"a\":0.5}", DoubleTag.of(0.5D), true);
+		check("{\"a\":0.1}", DoubleTag.of(0.1D), true);
+		check("{\"a\":0.1}", FloatTag.of(0.1F), true);
+		check("{\"a\":0.1}", DoubleTag.of(0.1000000001D), false);
+		check("{\"a\":1.5}", IntTag.of(1), false);
+		check("{\"a\":1}", DoubleTag.of(1.5D), false);
+		check("{\"a\":1.0E20}", DoubleTag.of(1.0E20), true);
+	}
+
+	@Test
+	public void stringsThatLookNumeric() {
+		check("{\"a\":\"1\"}", StringTag.of("1"), true);
+		check("{\"a\":\"1\"}", IntTag.of(1), false);
+		check("{\"a\":1}", StringTag.of("1"), false);
+		check("{\"a\":\"1.0\"}", StringTag.of("1"), false);
+		check("{\"a\":\"true\"}", ByteTag.of((byte) 1), false);
+	}
+
+	@Test
+	public void listsAndArrays() {
+		check("{\"a\":[1,2,3]}", new ByteArrayTag(new byte[]{1, 2, 3}), true);
+		check("{\"a\":[1,2,3]}", new IntArrayTag(new int[]{1, 2, 3}), true);
+		check("{\"a\":[1,2,3]}", new LongArrayTag(new long[]{1, 2, 3}), true);
+		check("{\"a\":[1,2,3]}", list(IntTag.of(1), IntTag.of(2), IntTag.of(3)), true);
+		check("{\"a\":[1,2,3]}", new IntArrayTag(new int[]{3, 2, 1}), false);
+		check("{\"a\":[1,2,3]}", new IntArrayTag(new int[]{1, 2}), false);
+		check("{\"a\":[100000,200000]}", new IntArrayTag(new int[]{100000, 200000}), true);
+		check("{\"a\":[\"x\",\"y\"]}", list(StringTag.of("x"), StringTag.of("y")), true);
+		check("{\"a\":[\"x\",\"y\"]}", list(StringTag.of("y"), StringTag.of("x")), false);
+		check("{\"a\":[]}", new ListTag(), true);
+		check("{\"a\":[]}", new IntArrayTag(new int[0]), true);
+		check("{\"a\":[1]}", IntTag.of(1), false);
+	}
+
+	@Test
+	public void nestedCompounds() {
+		CompoundTag display = new CompoundTag();
+		display.putString("Name", "x");
+		display.putInt("Color", 5);
+		check("{\"a\":{\"Name\":\"x\",\"Color\":5}}", display, true);
+		check("{\"a\":{\"Name\":\"x\"}}", display, false);
+		check("{\"a\":{\"Name\":\"x\",\"Color\":5,\"Extra\":1}}", display, false);
+		check("{\"a\":{\"Name\":\"y\",\"Color\":5}}", display, false);
+
+		CompoundTag element = new CompoundTag();
+		element.putShort("id", (short) 16);
+		element.putLong("lvl", 2);
+		check("{\"a\":[{\"id\":16,\"lvl\":2}]}", list(element), true);
+		check("{\"a\":[{\"id\":16,\"lvl\":3}]}", list(element), false);
+	}
+
+	@Test
+	public void missingOrExtraKeys() {
+		CompoundTag empty = new CompoundTag();
+		assertMatches(parse("{}"), empty, true);
+		assertMatches(parse("{\"a\":1}"), empty, false);
+
+		CompoundTag extra = new CompoundTag();
+		extra.putInt("a", 1);
+		extra.putInt("b", 2);
+		assertMatches(parse("{\"a\":1}"), extra, false);
+	}
+
+	private static void check(String expectedJson, Tag actualValue, boolean shouldMatch) {
+		CompoundTag actual = new CompoundTag();
+		actual.put("a", actualValue);
+		assertMatches(parse(expectedJson), actual, shouldMatch);
+	}
+
+	private static void assertMatches(CompoundTag expected, CompoundTag actual, boolean shouldMatch) {
+		String message = expected + " against " + actual;
+		assertEquals(shouldMatch, expected.equals(roundTrip(actual)), "round trip: " + message);
+		assertEquals(shouldMatch, NbtMatcher.compile(expected).matches(actual), "matcher: " + message);
+	}
+
+	private static CompoundTag parse(String json) {
+		return (CompoundTag) Dynamic.convert(JsonOps.INSTANCE, NbtOps.INSTANCE, new JsonParser().parse(json));
+	}
+
+	//What StackIngredient compared against before the matcher
+	private static CompoundTag roundTrip(CompoundTag tag) {
+		return (CompoundTag) Dynamic.convert(JsonOps.INSTANCE, NbtOps.INSTANCE, Dynamic.convert(NbtOps.INSTANCE, JsonOps.INSTANCE, tag));
+	}
+
+	private static ListTag list(Tag... tags) {
+		ListTag listTag = new ListTag();
+		for (Tag tag : tags) {
+			listTag.add(tag);
+		}
+		return listTag;
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of TechReborn, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 TechReborn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package reborncore.common.recipes;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.DefaultedList;
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reborncore.api.recipe.IRecipeCrafterProvider;
+import reborncore.common.crafting.RebornRecipe;
+import reborncore.common.crafting.RebornRecipeType;
+import reborncore.common.crafting.RecipeSnapshot;
+import reborncore.common.crafting.ingredient.RebornIngredient;
+import reborncore.common.crafting.ingredient.StackIngredient;
+import reborncore.common.powerSystem.PowerAcceptorBlockEntity;
+import reborncore.common.util.RebornInventory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs a crafter through whole crafts, and checks that once it is warmed up its ticks allocate nothing
+ */
+public class RecipeCrafterAllocationTest {
+
+	private static final int RECIPE_TIME = 10;
+	private static final int WARMUP_TICKS = 220;
+	// Short enough that the input never runs out and the output never fills up within a section
+	private static final int SECTION_TICKS = 110;
+	private static final int SECTIONS = 3;
+	// A craft takes the recipe time plus the tick it finishes on, allow one more before calling the crafter stalled
+	private static final int MIN_CRAFTS = SECTION_TICKS * SECTIONS / (RECIPE_TIME + 2);
+
+	@BeforeAll
+	public static void bootstrap() {
+		Bootstrap.initialize();
+	}
+
+	@Test
+	public void craftingDoesNotAllocate() {
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "allocation counting is not supported by this jvm");
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		long thread = Thread.currentThread().getId();
+
+		TestMachine machine = new TestMachine();
+		RecipeCrafter crafter = machine.getRecipeCrafter();
+
+		refill(machine);
+		for (int i = 0; i < WARMUP_TICKS; i++) {
+			crafter.updateEntity();
+		}
+		assertTrue(machine.inventory.getInvStack(1).getCount() > 0, "the crafter did not craft while warming up");
+
+		//Reading the counter allocates a little itself, measure that to take it out of the result
+		long start = threadBean.getThreadAllocatedBytes(thread);
+		long overhead = threadBean.getThreadAllocatedBytes(thread) - start;
+
+		long allocated = 0;
+		int crafts = 0;
+		for (int section = 0; section < SECTIONS; section++) {
+			//Topped up outside of the measured ticks so the crafter never runs dry or blocks on its output
+			refill(machine);
+			start = threadBean.getThreadAllocatedBytes(thread);
+			for (int i = 0; i < SECTION_TICKS; i++) {
+				crafter.updateEntity();
+			}
+			allocated += threadBean.getThreadAllocatedBytes(thread) - start - overhead;
+			crafts += machine.inventory.getInvStack(1).getCount();
+		}
+
+		assertTrue(crafts >= MIN_CRAFTS, "the crafter only crafted " + crafts + " times in " + SECTION_TICKS * SECTIONS + " ticks, expected at least " + MIN_CRAFTS);
+		assertEquals(0, Math.max(allocated, 0), "bytes allocated over " + crafts + " crafts");
+	}
+
+	private static void refill(TestMachine machine) {
+		machine.inventory.setInvStack(0, new ItemStack(Items.COBBLESTONE, 64));
+		machine.inventory.setInvStack(1, ItemStack.EMPTY);
+	}
+
+	private static class TestMachine extends PowerAcceptorBlockEntity implements IRecipeCrafterProvider {
+
+		private final RebornInventory<TestMachine> inventory = new RebornInventory<>(2, "TestMachine", 64, this);
+		private final RecipeCrafter crafter;
+
+		TestMachine() {
+			super(null);
+			RebornRecipeType<RebornRecipe> type = new RebornRecipeType<>(RebornRecipe.class, new Identifier("reborncore", "test"));
+			RebornIngredient input = new StackIngredient(Collections.singletonList(new ItemStack(Items.COBBLESTONE)), Optional.empty(), Optional.empty(), false);
+			RebornRecipe recipe = new RebornRecipe(type, new Identifier("reborncore", "test_recipe"),
+				DefaultedList.copyOf(input, input), DefaultedList.copyOf(ItemStack.EMPTY, new ItemStack(Items.STONE)), 1, RECIPE_TIME);
+			RecipeSnapshot<RebornRecipe> snapshot = new RecipeSnapshot<>(type, RecipeSnapshot.nextEpoch(), new RebornRecipe[]{recipe});
+
+			//There is no world, so the recipes are handed to the crafter directly
+			crafter = new RecipeCrafter(type, this, 1, 1, inventory, new int[]{0}, new int[]{1}) {
+				@Override
+				protected RecipeSnapshot<?> getRecipeSnapshot() {
+					return snapshot;
+				}
+
+				@Override
+				protected long getReloadEpoch() {
+					return snapshot.getEpoch();
+				}
+			};
+			setStored(getMaxPower());
+		}
+
+		@Override
+		public RecipeCrafter getRecipeCrafter() {
+			return crafter;
+		}
+
+		@Override
+		public double getBaseMaxPower() {
+			return 1_000_000;
+		}
+
+		@Override
+		public double getBaseMaxOutput() {
+			return 0;
+		}
+
+		@Override
+		public double getBaseMaxInput() {
+			return 1_000;
+		}
+	}
+}